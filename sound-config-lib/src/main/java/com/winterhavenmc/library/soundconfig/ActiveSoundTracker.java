@@ -0,0 +1,304 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Sound;
+import org.bukkit.SoundCategory;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * A class that tracks the long sounds that are playing for each player, so that they can be stopped with the
+ * fewest bukkit calls. A sound is tracked when it is played to a player and has a configured duration, until the
+ * duration ends, it is stopped, or the player quits. The sounds of a player are kept in small parallel arrays,
+ * and expired sounds are removed whenever the arrays are used, and from every player at most once per sweep interval
+ * when a sound is tracked. The listener that forgets the sounds of players
+ * who quit is registered when the first sound is tracked, so it is registered once the plugin is enabled.
+ */
+final class ActiveSoundTracker implements Listener
+{
+	private static final long SWEEP_INTERVAL = TimeUnit.SECONDS.toNanos(30);
+
+	private final Map<UUID, ActiveSounds> players = new ConcurrentHashMap<>();
+	private final Plugin plugin;
+	private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL);
+	private volatile boolean registered;
+
+	// guarded by this
+	private boolean closed;
+	private boolean warned;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin the plugin that owns the sound configuration
+	 */
+	ActiveSoundTracker(final Plugin plugin)
+	{
+		this.plugin = plugin;
+	}
+
+
+	/**
+	 * Track a sound played to a player
+	 *
+	 * @param player   the player
+	 * @param sound    the sound
+	 * @param category the sound category
+	 * @param duration the duration of the sound in nanoseconds
+	 */
+	void track(final Player player, final Sound sound, final SoundCategory category, final long duration)
+	{
+		if (!registered)
+		{
+			register();
+		}
+
+		// the sound is added under the map lock, so that it cannot be added to sounds that are being forgotten
+		long now = System.nanoTime();
+		players.compute(player.getUniqueId(), (uuid, activeSounds) -> {
+			ActiveSounds result = (activeSounds != null) ? activeSounds : new ActiveSounds();
+			result.add(sound, category, now + duration, now);
+			return result;
+		});
+
+		// forget players whose sounds have all ended without being stopped
+		long sweep = nextSweep.get();
+		if (now - sweep >= 0 && nextSweep.compareAndSet(sweep, now + SWEEP_INTERVAL))
+		{
+			for (UUID playerUid : players.keySet())
+			{
+				forgetIfEmpty(playerUid);
+			}
+		}
+	}
+
+
+	/**
+	 * Stop a sound for a player, if it is playing
+	 *
+	 * @param player   the player
+	 * @param sound    the sound
+	 * @param category the sound category
+	 */
+	void stop(final Player player, final Sound sound, final SoundCategory category)
+	{
+		ActiveSounds activeSounds = players.get(player.getUniqueId());
+		if (activeSounds != null && activeSounds.remove(sound, category, System.nanoTime()))
+		{
+			player.stopSound(sound, category);
+		}
+		forgetIfEmpty(player.getUniqueId());
+	}
+
+
+	/**
+	 * Stop the tracked sounds in a category for a player, if any are playing. Each sound is stopped by itself,
+	 * so that sounds in the category that were not played by this library keep playing.
+	 *
+	 * @param player   the player
+	 * @param category the sound category
+	 */
+	void stopCategory(final Player player, final SoundCategory category)
+	{
+		ActiveSounds activeSounds = players.get(player.getUniqueId());
+		if (activeSounds != null)
+		{
+			for (Sound sound : activeSounds.removeCategory(category, System.nanoTime()))
+			{
+				player.stopSound(sound, category);
+			}
+		}
+		forgetIfEmpty(player.getUniqueId());
+	}
+
+
+	/**
+	 * Register a listener that forgets the sounds of players who quit, if it is not already registered
+	 */
+	private synchronized void register()
+	{
+		if (registered || closed)
+		{
+			return;
+		}
+
+		// the plugin may not be enabled yet, so registration is tried again when the next sound is tracked
+		if (!plugin.isEnabled())
+		{
+			if (!warned)
+			{
+				plugin.getLogger().warning("Playing sounds will not be forgotten when players quit until the plugin is enabled.");
+				warned = true;
+			}
+			return;
+		}
+
+		plugin.getServer().getPluginManager().registerEvent(PlayerQuitEvent.class, this, EventPriority.MONITOR,
+				(listener, event) -> {
+					if (event instanceof PlayerQuitEvent playerQuitEvent)
+					{
+						players.remove(playerQuitEvent.getPlayer().getUniqueId());
+					}
+				}, plugin, false);
+		registered = true;
+	}
+
+
+	/**
+	 * Unregister the quit listener and forget all tracked sounds
+	 */
+	synchronized void unregister()
+	{
+		if (registered)
+		{
+			HandlerList.unregisterAll(this);
+			registered = false;
+		}
+		closed = true;
+		players.clear();
+	}
+
+
+	int playerCount()
+	{
+		return players.size();
+	}
+
+
+	private void forgetIfEmpty(final UUID playerUid)
+	{
+		players.computeIfPresent(playerUid, (uuid, activeSounds) -> activeSounds.isEmpty() ? null : activeSounds);
+	}
+
+
+	/**
+	 * The sounds playing for one player, as parallel arrays of sound, category and expiry time
+	 */
+	private static final class ActiveSounds
+	{
+		private Sound[] sounds = new Sound[2];
+		private byte[] categories = new byte[2];
+		private long[] expiries = new long[2];
+		private int size;
+
+
+		synchronized void add(final Sound sound, final SoundCategory category, final long expiry, final long now)
+		{
+			removeExpired(now);
+
+			// a sound that is played again is tracked until the later play ends
+			for (int i = 0; i < size; i++)
+			{
+				if (sounds[i] == sound && categories[i] == category.ordinal())
+				{
+					expiries[i] = Math.max(expiries[i], expiry);
+					return;
+				}
+			}
+
+			if (size == sounds.length)
+			{
+				sounds = Arrays.copyOf(sounds, size * 2);
+				categories = Arrays.copyOf(categories, size * 2);
+				expiries = Arrays.copyOf(expiries, size * 2);
+			}
+			sounds[size] = sound;
+			categories[size] = (byte) category.ordinal();
+			expiries[size] = expiry;
+			size++;
+		}
+
+
+		synchronized boolean remove(final Sound sound, final SoundCategory category, final long now)
+		{
+			removeExpired(now);
+			for (int i = 0; i < size; i++)
+			{
+				if (sounds[i] == sound && categories[i] == category.ordinal())
+				{
+					removeAt(i);
+					return true;
+				}
+			}
+			return false;
+		}
+
+
+		synchronized List<Sound> removeCategory(final SoundCategory category, final long now)
+		{
+			removeExpired(now);
+			List<Sound> removed = new ArrayList<>();
+			for (int i = size - 1; i >= 0; i--)
+			{
+				if (categories[i] == category.ordinal())
+				{
+					removed.add(sounds[i]);
+					removeAt(i);
+				}
+			}
+			return removed;
+		}
+
+
+		synchronized boolean isEmpty()
+		{
+			removeExpired(System.nanoTime());
+			return size == 0;
+		}
+
+
+		private void removeExpired(final long now)
+		{
+			for (int i = size - 1; i >= 0; i--)
+			{
+				if (expiries[i] - now <= 0)
+				{
+					removeAt(i);
+				}
+			}
+		}
+
+
+		private void removeAt(final int i)
+		{
+			// order does not matter, so the last sound fills the gap
+			size--;
+			sounds[i] = sounds[size];
+			categories[i] = categories[size];
+			expiries[i] = expiries[size];
+			sounds[size] = null;
+		}
+	}
+
+}
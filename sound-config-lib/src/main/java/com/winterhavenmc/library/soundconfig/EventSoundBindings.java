@@ -0,0 +1,546 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.*;
+import org.bukkit.event.block.BlockEvent;
+import org.bukkit.permissions.Permissible;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.IllegalPluginAccessException;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+
+/**
+ * Bindings of bukkit events to configured sounds, compiled from the {@code bindings} section of the sound
+ * configuration. Each binding names an event class and a sound key, with optional filters:
+ * <pre>
+ * bindings:
+ *   - event: org.bukkit.event.block.BlockBreakEvent
+ *     sound: BLOCK_BREAK_SOUND
+ *     target: block
+ *     world: world
+ *     region: [-100, 0, -100, 100, 320, 100]
+ *     permission: example.sounds
+ *     ignore-cancelled: true
+ * </pre>
+ * The target is the player, entity, block or location of the event that the sound is played to or at. If it is
+ * not set, the target of a block event is its block, and the target of another event is its player if it has
+ * one, or else its entity, block or location. The world and region filters test the location of the target.
+ * The permission filter tests the player of the event if it has one, or else the target. A binding with an
+ * option that is not one of these is ignored, so that a misspelled filter does not play its sound more widely.
+ * Bindings are grouped by event class into a dispatch array, and one executor is registered for each event
+ * class, at monitor priority, which tests the bindings for the class in order. Executors can only be registered
+ * for an enabled plugin, so the sound configuration registers them once the plugin is enabled.
+ */
+final class EventSoundBindings implements Listener
+{
+	static final String SECTION = "bindings";
+
+	private static final MethodType TARGET_TYPE = MethodType.methodType(Object.class, Event.class);
+
+	// a misspelled filter would widen the binding, so a binding with an unknown option is ignored
+	private static final Set<String> OPTIONS =
+			Set.of("event", "sound", "target", "world", "region", "permission", "ignore-cancelled");
+
+	private final List<Dispatcher> dispatchers;
+	private final Logger logger;
+
+
+	private EventSoundBindings(final List<Dispatcher> dispatchers, final Logger logger)
+	{
+		this.dispatchers = dispatchers;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Compile the bindings section of a sound configuration. Bindings that cannot be compiled are reported and ignored.
+	 *
+	 * @param bindings           the entries of the bindings section
+	 * @param table              the sound table that binding keys are looked up in
+	 * @param soundConfiguration the sound configuration that plays bound sounds
+	 * @param classLoader        the class loader used to load event classes
+	 * @param logger             the logger for reporting configuration errors
+	 * @return the compiled bindings
+	 */
+	static EventSoundBindings compile(final List<Map<?, ?>> bindings,
+	                                  final SoundTable table,
+	                                  final YamlSoundConfiguration soundConfiguration,
+	                                  final ClassLoader classLoader,
+	                                  final Logger logger)
+	{
+		return new EventSoundBindings(dispatchers(bindings, table, soundConfiguration, classLoader, logger::warning), logger);
+	}
+
+
+	/**
+	 * Validate the bindings section of a sound configuration with the same checks as when it is compiled
+	 *
+	 * @param bindings    the entries of the bindings section
+	 * @param table       the sound table that binding keys are looked up in
+	 * @param classLoader the class loader used to load event classes
+	 * @param warnings    the consumer of a description of each binding that would be ignored
+	 */
+	static void validate(final List<Map<?, ?>> bindings,
+	                     final SoundTable table,
+	                     final ClassLoader classLoader,
+	                     final Consumer<String> warnings)
+	{
+		dispatchers(bindings, table, null, classLoader, warnings);
+	}
+
+
+	private static List<Dispatcher> dispatchers(final List<Map<?, ?>> bindings,
+	                                            final SoundTable table,
+	                                            final YamlSoundConfiguration soundConfiguration,
+	                                            final ClassLoader classLoader,
+	                                            final Consumer<String> warnings)
+	{
+		Map<Class<? extends Event>, List<Rule>> rulesByEvent = new LinkedHashMap<>();
+		Map<Class<? extends Event>, MethodHandle[]> targets = new HashMap<>();
+
+		for (Map<?, ?> binding : bindings)
+		{
+			String eventName = string(binding.get("event"));
+			String key = string(binding.get("sound"));
+			if (eventName == null || key == null)
+			{
+				warnings.accept("A sound binding was ignored because it does not have both an event and a sound.");
+				continue;
+			}
+
+			String option = unknownOption(binding);
+			if (option != null)
+			{
+				warnings.accept("The sound binding for event '" + eventName + "' was ignored because '" + option
+						+ "' is not a binding option.");
+				continue;
+			}
+
+			Class<? extends Event> eventClass = eventClass(eventName, classLoader);
+			if (eventClass == null)
+			{
+				warnings.accept("The sound binding for event '" + eventName + "' was ignored because it is not an event class.");
+				continue;
+			}
+
+			int index = table.indexOf(key);
+			if (index == -1)
+			{
+				warnings.accept("The sound binding for event '" + eventName + "' was ignored because the sound '"
+						+ key + "' is not in the sound configuration.");
+				continue;
+			}
+
+			MethodHandle[] eventTargets = targets.computeIfAbsent(eventClass, EventSoundBindings::targets);
+			String targetName = string(binding.get("target"));
+			Target target = (targetName != null) ? Target.of(targetName) : Target.defaultOf(eventClass, eventTargets);
+			if (target == null || eventTargets[target.ordinal()] == null)
+			{
+				warnings.accept("The sound binding for event '" + eventName + "' was ignored because the event "
+						+ "has no " + (targetName != null ? "'" + targetName + "'" : "player, entity, block or location")
+						+ " to play the sound at.");
+				continue;
+			}
+
+			int[] region = region(binding.get("region"));
+			if (binding.get("region") != null && region == null)
+			{
+				warnings.accept("The sound binding for event '" + eventName + "' was ignored because its region "
+						+ "is not a list of six block coordinates.");
+				continue;
+			}
+
+			rulesByEvent.computeIfAbsent(eventClass, type -> new ArrayList<>()).add(new Rule(index,
+					target,
+					string(binding.get("world")),
+					region,
+					string(binding.get("permission")),
+					!Boolean.FALSE.equals(binding.get("ignore-cancelled"))));
+		}
+
+		List<Dispatcher> dispatchers = new ArrayList<>();
+		for (Map.Entry<Class<? extends Event>, List<Rule>> entry : rulesByEvent.entrySet())
+		{
+			dispatchers.add(new Dispatcher(entry.getKey(), targets.get(entry.getKey()), table, soundConfiguration,
+					entry.getValue().toArray(new Rule[0])));
+		}
+
+		return List.copyOf(dispatchers);
+	}
+
+
+	/**
+	 * Register one event executor for each bound event class
+	 *
+	 * @param plugin the plugin that owns the sound configuration, which must be enabled
+	 */
+	void register(final Plugin plugin)
+	{
+		if (dispatchers.isEmpty())
+		{
+			return;
+		}
+
+		for (Dispatcher dispatcher : dispatchers)
+		{
+			try
+			{
+				plugin.getServer().getPluginManager().registerEvent(dispatcher.eventClass,
+						this, EventPriority.MONITOR, dispatcher, plugin, false);
+			}
+			catch (IllegalPluginAccessException illegalPluginAccessException)
+			{
+				logger.warning("The sound bindings for event '" + dispatcher.eventClass.getName()
+						+ "' were ignored because the event cannot be listened to.");
+			}
+		}
+	}
+
+
+	/**
+	 * Unregister the event executors of these bindings
+	 */
+	void unregister()
+	{
+		if (!dispatchers.isEmpty())
+		{
+			HandlerList.unregisterAll(this);
+		}
+	}
+
+
+	private static String unknownOption(final Map<?, ?> binding)
+	{
+		for (Object option : binding.keySet())
+		{
+			if (!OPTIONS.contains(String.valueOf(option)))
+			{
+				return String.valueOf(option);
+			}
+		}
+		return null;
+	}
+
+
+	private static Class<? extends Event> eventClass(final String name, final ClassLoader classLoader)
+	{
+		try
+		{
+			// the class is not initialized, so validating a binding does not run the static initializer of an event
+			Class<?> type = Class.forName(name, false, classLoader);
+			return Event.class.isAssignableFrom(type) ? type.asSubclass(Event.class) : null;
+		}
+		catch (ClassNotFoundException | LinkageError exception)
+		{
+			return null;
+		}
+	}
+
+
+	/**
+	 * Get the accessors of an event class for each kind of target
+	 *
+	 * @param eventClass the event class
+	 * @return the accessors, indexed by target ordinal, with null for a target that the event does not have
+	 */
+	private static MethodHandle[] targets(final Class<? extends Event> eventClass)
+	{
+		MethodHandle[] handles = new MethodHandle[Target.values().length];
+		for (Target target : Target.values())
+		{
+			try
+			{
+				Method method = eventClass.getMethod(target.methodName);
+				if (target.type.isAssignableFrom(method.getReturnType()))
+				{
+					handles[target.ordinal()] = MethodHandles.publicLookup().unreflect(method).asType(TARGET_TYPE);
+				}
+			}
+			catch (NoSuchMethodException | IllegalAccessException exception)
+			{
+				// the event does not have this target
+			}
+		}
+		return handles;
+	}
+
+
+	private static int[] region(final Object value)
+	{
+		if (!(value instanceof List<?> list) || list.size() != 6)
+		{
+			return null;
+		}
+
+		int[] corners = new int[6];
+		for (int i = 0; i < 6; i++)
+		{
+			if (!(list.get(i) instanceof Number number))
+			{
+				return null;
+			}
+			corners[i] = number.intValue();
+		}
+
+		// minimum x, y, z followed by maximum x, y, z
+		return new int[] {
+				Math.min(corners[0], corners[3]), Math.min(corners[1], corners[4]), Math.min(corners[2], corners[5]),
+				Math.max(corners[0], corners[3]), Math.max(corners[1], corners[4]), Math.max(corners[2], corners[5]) };
+	}
+
+
+	private static String string(final Object value)
+	{
+		return value != null ? value.toString() : null;
+	}
+
+
+	/**
+	 * The kinds of event target that a sound can be played to or at, with the accessor of each
+	 */
+	private enum Target
+	{
+		PLAYER("getPlayer", Player.class),
+		ENTITY("getEntity", Entity.class),
+		BLOCK("getBlock", Block.class),
+		LOCATION("getLocation", Location.class);
+
+		private final String methodName;
+		private final Class<?> type;
+
+
+		Target(final String methodName, final Class<?> type)
+		{
+			this.methodName = methodName;
+			this.type = type;
+		}
+
+
+		static Target of(final String name)
+		{
+			for (Target target : values())
+			{
+				if (target.name().equalsIgnoreCase(name.trim()))
+				{
+					return target;
+				}
+			}
+			return null;
+		}
+
+
+		static Target defaultOf(final Class<? extends Event> eventClass, final MethodHandle[] handles)
+		{
+			// a block event happens at its block, even when it has a player
+			if (BlockEvent.class.isAssignableFrom(eventClass) && handles[BLOCK.ordinal()] != null)
+			{
+				return BLOCK;
+			}
+			for (Target target : values())
+			{
+				if (handles[target.ordinal()] != null)
+				{
+					return target;
+				}
+			}
+			return null;
+		}
+	}
+
+
+	private record Rule(int index,
+	                    Target target,
+	                    String world,
+	                    int[] region,
+	                    String permission,
+	                    boolean ignoreCancelled)
+	{
+		boolean hasLocationFilter()
+		{
+			return world != null || region != null;
+		}
+
+		boolean matches(final Location location)
+		{
+			if (location == null)
+			{
+				return false;
+			}
+			if (world != null && (location.getWorld() == null || !world.equals(location.getWorld().getName())))
+			{
+				return false;
+			}
+			return region == null
+					|| location.getBlockX() >= region[0] && location.getBlockX() <= region[3]
+					&& location.getBlockY() >= region[1] && location.getBlockY() <= region[4]
+					&& location.getBlockZ() >= region[2] && location.getBlockZ() <= region[5];
+		}
+	}
+
+
+	/**
+	 * The executor for one event class, which plays the sounds of every matching binding for the class
+	 */
+	private static final class Dispatcher implements EventExecutor
+	{
+		private final Class<? extends Event> eventClass;
+		private final MethodHandle[] targets;
+		private final SoundTable table;
+		private final YamlSoundConfiguration soundConfiguration;
+		private final Rule[] rules;
+
+
+		private Dispatcher(final Class<? extends Event> eventClass,
+		                   final MethodHandle[] targets,
+		                   final SoundTable table,
+		                   final YamlSoundConfiguration soundConfiguration,
+		                   final Rule[] rules)
+		{
+			this.eventClass = eventClass;
+			this.targets = targets;
+			this.table = table;
+			this.soundConfiguration = soundConfiguration;
+			this.rules = rules;
+		}
+
+
+		@Override
+		public void execute(final Listener listener, final Event event) throws EventException
+		{
+			if (!eventClass.isInstance(event))
+			{
+				return;
+			}
+
+			boolean cancelled = event instanceof Cancellable cancellable && cancellable.isCancelled();
+
+			// the target and its location are looked up when a rule first needs them, and again only if a
+			// later rule has a different target
+			Target target = null;
+			Object eventTarget = null;
+			Location location = null;
+
+			for (Rule rule : rules)
+			{
+				if (cancelled && rule.ignoreCancelled())
+				{
+					continue;
+				}
+
+				if (rule.target() != target)
+				{
+					target = rule.target();
+					eventTarget = invoke(targets[target.ordinal()], event);
+					location = null;
+				}
+
+				if (eventTarget == null)
+				{
+					continue;
+				}
+
+				if (rule.permission() != null)
+				{
+					Object subject = (targets[Target.PLAYER.ordinal()] != null)
+							? invoke(targets[Target.PLAYER.ordinal()], event)
+							: eventTarget;
+					if (!(subject instanceof Permissible permissible && permissible.hasPermission(rule.permission())))
+					{
+						continue;
+					}
+				}
+
+				if (rule.hasLocationFilter())
+				{
+					if (location == null)
+					{
+						location = locationOf(eventTarget);
+					}
+					if (!rule.matches(location))
+					{
+						continue;
+					}
+				}
+
+				play(eventTarget, rule.index());
+			}
+		}
+
+
+		private static Object invoke(final MethodHandle accessor, final Event event) throws EventException
+		{
+			try
+			{
+				return (Object) accessor.invokeExact(event);
+			}
+			catch (Throwable throwable)
+			{
+				throw new EventException(throwable);
+			}
+		}
+
+
+		private void play(final Object eventTarget, final int index)
+		{
+			if (eventTarget instanceof Player player)
+			{
+				soundConfiguration.playSound(player, table, index, YamlSoundConfiguration.NO_ORDINAL);
+			}
+			else if (eventTarget instanceof Entity entity)
+			{
+				soundConfiguration.playSound(entity, table, index);
+			}
+			else if (eventTarget instanceof Block block)
+			{
+				soundConfiguration.playSound(block.getLocation(), table, index);
+			}
+			else if (eventTarget instanceof Location location)
+			{
+				soundConfiguration.playSound(location, table, index);
+			}
+		}
+
+
+		private static Location locationOf(final Object eventTarget)
+		{
+			if (eventTarget instanceof Entity entity)
+			{
+				return entity.getLocation();
+			}
+			if (eventTarget instanceof Block block)
+			{
+				return block.getLocation();
+			}
+			return (eventTarget instanceof Location location) ? location : null;
+		}
+	}
+
+}
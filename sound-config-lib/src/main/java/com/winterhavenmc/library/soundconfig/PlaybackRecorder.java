@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+
+/**
+ * A class that records playback requests to a trace file. Requests are written into a fixed ring buffer of
+ * packed longs, which a background thread flushes to the file, so recording a request does not allocate
+ * or touch the disk. If the buffer fills before it is flushed, further requests are dropped and counted.
+ * <p>
+ * Each request is recorded as three longs: the tick and the sound table index, then the block x and z of
+ * the target, then the target type, the world number and the block y. The tick is the number of server ticks
+ * since recording started, counted by a scheduler task, so that a lagging server does not stretch the trace
+ * when it is replayed at 20 ticks per second. When a request uses a different sound table than the
+ * previous one, a table record is written, followed by the keys of the new table, so that indexes can be
+ * mapped to keys. When a request is the first in a world, a world record is written, followed by the name
+ * of the world, so that world numbers can be mapped to worlds. World number 0 is an unknown world. Worlds are
+ * identified by their unique id, so that the recorder does not keep an unloaded world.
+ * <p>
+ * File layout: a header of magic number, format version and start time in epoch milliseconds, followed by
+ * records of {@code tick and index (long), block x and z (long), target, world and block y (long)}.
+ * A table record is followed by {@code key count (int), keys (UTF strings)}, and a world record is followed
+ * by {@code world name (UTF string)}. {@link PlaybackTrace} reads and replays trace files.
+ */
+final class PlaybackRecorder
+{
+	static final int MAGIC = 0x534E4454; // "SNDT"
+	static final byte FORMAT_VERSION = 2;
+	static final int RECORD_LONGS = 3;
+
+	static final int TARGET_TABLE = 0;
+	static final int TARGET_PLAYER = 1;
+	static final int TARGET_LOCATION = 2;
+	static final int TARGET_ENTITY = 3;
+	static final int TARGET_WORLD = 4;
+
+	private static final int DEFAULT_CAPACITY = 1 << 16;
+	private static final long FLUSH_MILLIS = 1000;
+
+	private final File file;
+	private final Logger logger;
+	private final DataOutputStream out;
+	private final ScheduledExecutorService executor;
+	private final BukkitTask tickTask;
+	private final Map<Integer, String[]> tableKeys = new ConcurrentHashMap<>();
+	private final Map<Integer, String> worldNames = new ConcurrentHashMap<>();
+
+	// written only by the tick task on the server thread
+	private volatile int tick;
+
+	// guarded by this
+	private final long[] ring;
+	private final int mask;
+	private final Location entityLocation = new Location(null, 0, 0, 0);
+	private UUID[] worldUids = new UUID[4];
+	private int worldCount;
+	private long writeSequence;
+	private long readSequence;
+	private long droppedCount;
+	private SoundTable lastTable;
+	private int tableGeneration;
+
+	// guarded by itself
+	private final long[] flushBuffer;
+
+
+	/**
+	 * Class constructor. The trace file is created, or replaced if it exists.
+	 *
+	 * @param file   the trace file
+	 * @param plugin the enabled plugin, whose scheduler counts ticks and whose logger reports errors
+	 * @throws IOException if the trace file cannot be created
+	 */
+	PlaybackRecorder(final File file, final Plugin plugin) throws IOException
+	{
+		this(file, plugin, DEFAULT_CAPACITY);
+	}
+
+
+	/**
+	 * Class constructor. The trace file is created, or replaced if it exists.
+	 *
+	 * @param file     the trace file
+	 * @param plugin   the enabled plugin, whose scheduler counts ticks and whose logger reports errors
+	 * @param capacity the number of requests the ring buffer holds, rounded up to a power of two
+	 * @throws IOException if the trace file cannot be created
+	 */
+	PlaybackRecorder(final File file, final Plugin plugin, final int capacity) throws IOException
+	{
+		int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+
+		this.file = file;
+		this.logger = plugin.getLogger();
+		this.ring = new long[size * RECORD_LONGS];
+		this.mask = size - 1;
+		this.flushBuffer = new long[size * RECORD_LONGS];
+
+		this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+		out.writeInt(MAGIC);
+		out.writeByte(FORMAT_VERSION);
+		out.writeLong(System.currentTimeMillis());
+
+		this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "SoundConfigLib-Trace");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(this::flush, FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+
+		// the tick count advances with the server, and is only read by requests
+		this.tickTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> tick++, 1L, 1L);
+	}
+
+
+	/**
+	 * Record a playback request at a location
+	 *
+	 * @param table    the sound table that the index was looked up in
+	 * @param index    the sound table index, or -1 if the sound is not configured
+	 * @param target   the target type
+	 * @param location the location of the target
+	 */
+	void record(final SoundTable table, final int index, final int target, final Location location)
+	{
+		int tick = this.tick;
+
+		synchronized (this)
+		{
+			if (putTable(tick, table))
+			{
+				putRequest(tick, index, target, location);
+			}
+		}
+	}
+
+
+	/**
+	 * Record a playback request to a player or an entity. The position of the entity is copied into
+	 * a location owned by the recorder, so recording does not allocate.
+	 *
+	 * @param table  the sound table that the index was looked up in
+	 * @param index  the sound table index, or -1 if the sound is not configured
+	 * @param target the target type
+	 * @param entity the player or entity
+	 */
+	void record(final SoundTable table, final int index, final int target, final Entity entity)
+	{
+		int tick = this.tick;
+
+		synchronized (this)
+		{
+			if (putTable(tick, table))
+			{
+				putRequest(tick, index, target, entity.getLocation(entityLocation));
+			}
+		}
+	}
+
+
+	/**
+	 * Flush recorded requests, stop the background thread and close the trace file
+	 */
+	void close()
+	{
+		tickTask.cancel();
+		executor.shutdown();
+		try
+		{
+			if (!executor.awaitTermination(5, TimeUnit.SECONDS))
+			{
+				logger.warning("Timed out waiting for the sound trace to be written.");
+			}
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+
+		// the executor has stopped, so the final flush runs on this thread
+		flush();
+
+		try
+		{
+			out.close();
+		}
+		catch (IOException ioException)
+		{
+			logger.severe(ioException.getLocalizedMessage());
+		}
+
+		synchronized (this)
+		{
+			if (droppedCount > 0)
+			{
+				logger.warning(droppedCount + " sound playback requests were not written to the trace file '"
+						+ file.getName() + "' because the trace buffer was full.");
+			}
+		}
+	}
+
+
+	private boolean putTable(final int tick, final SoundTable table)
+	{
+		if (table == lastTable)
+		{
+			return true;
+		}
+		if (!put(tick, ++tableGeneration, TARGET_TABLE, 0, 0, 0, 0))
+		{
+			tableGeneration--;
+			return false;
+		}
+		tableKeys.put(tableGeneration, keys(table));
+		lastTable = table;
+		return true;
+	}
+
+
+	private void putRequest(final int tick, final int index, final int target, final Location location)
+	{
+		World world = (location != null) ? location.getWorld() : null;
+		int worldNumber = (world != null) ? numberOf(tick, world) : 0;
+		if (worldNumber == -1)
+		{
+			return;
+		}
+
+		if (location != null)
+		{
+			put(tick, index, target, worldNumber, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+		}
+		else
+		{
+			put(tick, index, target, 0, 0, 0, 0);
+		}
+	}
+
+
+	/**
+	 * Get the number of a world, writing a world record if it is the first request in the world
+	 *
+	 * @return the world number, or -1 if the world record was dropped
+	 */
+	private int numberOf(final int tick, final World world)
+	{
+		// there are few worlds, so they are found by id without hashing or allocating
+		UUID worldUid = world.getUID();
+		for (int i = 0; i < worldCount; i++)
+		{
+			if (worldUids[i].equals(worldUid))
+			{
+				return i + 1;
+			}
+		}
+
+		if (!put(tick, 0, TARGET_WORLD, worldCount + 1, 0, 0, 0))
+		{
+			return -1;
+		}
+		if (worldCount == worldUids.length)
+		{
+			worldUids = Arrays.copyOf(worldUids, worldCount * 2);
+		}
+		worldUids[worldCount++] = worldUid;
+		worldNames.put(worldCount, world.getName());
+		return worldCount;
+	}
+
+
+	private boolean put(final int tick,
+	                    final int index,
+	                    final int target,
+	                    final int worldNumber,
+	                    final int blockX,
+	                    final int blockY,
+	                    final int blockZ)
+	{
+		if (writeSequence - readSequence > mask)
+		{
+			droppedCount++;
+			return false;
+		}
+
+		int slot = (int) (writeSequence & mask) * RECORD_LONGS;
+		ring[slot] = ((long) tick << 32) | (index & 0xFFFFFFFFL);
+		ring[slot + 1] = ((long) blockX << 32) | (blockZ & 0xFFFFFFFFL);
+		ring[slot + 2] = packTarget(target, worldNumber, blockY);
+		writeSequence++;
+		return true;
+	}
+
+
+	private void flush()
+	{
+		// the flush buffer and the output stream are used by one flush at a time
+		synchronized (flushBuffer)
+		{
+			int count;
+			synchronized (this)
+			{
+				count = (int) (writeSequence - readSequence);
+				for (int i = 0; i < count; i++)
+				{
+					int slot = (int) ((readSequence + i) & mask) * RECORD_LONGS;
+					System.arraycopy(ring, slot, flushBuffer, i * RECORD_LONGS, RECORD_LONGS);
+				}
+				readSequence = writeSequence;
+			}
+
+			try
+			{
+				for (int i = 0; i < count; i++)
+				{
+					long tickAndIndex = flushBuffer[i * RECORD_LONGS];
+					long blockXZ = flushBuffer[i * RECORD_LONGS + 1];
+					long targetWorldY = flushBuffer[i * RECORD_LONGS + 2];
+					out.writeLong(tickAndIndex);
+					out.writeLong(blockXZ);
+					out.writeLong(targetWorldY);
+
+					if (target(targetWorldY) == TARGET_TABLE)
+					{
+						String[] keys = tableKeys.remove((int) tickAndIndex);
+						out.writeInt(keys.length);
+						for (String key : keys)
+						{
+							out.writeUTF(key);
+						}
+					}
+					else if (target(targetWorldY) == TARGET_WORLD)
+					{
+						out.writeUTF(worldNames.remove(worldNumber(targetWorldY)));
+					}
+				}
+				out.flush();
+			}
+			catch (IOException ioException)
+			{
+				logger.severe(ioException.getLocalizedMessage());
+			}
+		}
+	}
+
+
+	private static String[] keys(final SoundTable table)
+	{
+		String[] keys = new String[table.size()];
+		for (int index = 0; index < keys.length; index++)
+		{
+			keys[index] = table.key(index);
+		}
+		return keys;
+	}
+
+
+	// target: 8 bits, world number: 24 bits, block y: 32 bits
+	static long packTarget(final int target, final int worldNumber, final int blockY)
+	{
+		return ((long) (target & 0xFF) << 56)
+				| ((long) (worldNumber & 0xFFFFFF) << 32)
+				| (blockY & 0xFFFFFFFFL);
+	}
+
+
+	static int target(final long targetWorldY)
+	{
+		return (int) (targetWorldY >>> 56);
+	}
+
+
+	static int worldNumber(final long targetWorldY)
+	{
+		return (int) (targetWorldY >>> 32) & 0xFFFFFF;
+	}
+
+
+	static int blockY(final long targetWorldY)
+	{
+		return (int) targetWorldY;
+	}
+
+
+	static int blockX(final long blockXZ)
+	{
+		return (int) (blockXZ >> 32);
+	}
+
+
+	static int blockZ(final long blockXZ)
+	{
+		return (int) blockXZ;
+	}
+
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+
+/**
+ * A playback trace read from a file written by {@link YamlSoundConfiguration#startRecording(File)}.
+ * A trace can be replayed through a sound configuration at its original speed or faster, to reproduce
+ * a recorded load for benchmarking and regression testing.
+ * <p>
+ * Sounds are replayed by key, so a trace can be replayed against a sound configuration that has changed
+ * since it was recorded. Requests for keys that were not configured when they were recorded are skipped.
+ */
+public final class PlaybackTrace
+{
+	private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+	private final long startTime;
+	private final int[] ticks;
+	private final String[] keys;
+	private final byte[] targets;
+	private final String[] worldNames;
+	private final int[] blockXs;
+	private final int[] blockYs;
+	private final int[] blockZs;
+
+
+	private PlaybackTrace(final long startTime,
+	                      final int[] ticks,
+	                      final String[] keys,
+	                      final byte[] targets,
+	                      final String[] worldNames,
+	                      final int[] blockXs,
+	                      final int[] blockYs,
+	                      final int[] blockZs)
+	{
+		this.startTime = startTime;
+		this.ticks = ticks;
+		this.keys = keys;
+		this.targets = targets;
+		this.worldNames = worldNames;
+		this.blockXs = blockXs;
+		this.blockYs = blockYs;
+		this.blockZs = blockZs;
+	}
+
+
+	/**
+	 * Read a trace file
+	 *
+	 * @param file the trace file
+	 * @return the trace
+	 * @throws IOException if the file cannot be read or is not a trace file
+	 */
+	public static PlaybackTrace read(final File file) throws IOException
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != PlaybackRecorder.MAGIC || in.readByte() != PlaybackRecorder.FORMAT_VERSION)
+			{
+				throw new IOException("The file '" + file.getName() + "' is not a sound trace file.");
+			}
+			long startTime = in.readLong();
+
+			List<long[]> records = new ArrayList<>();
+			List<String> recordKeys = new ArrayList<>();
+			List<String> recordWorlds = new ArrayList<>();
+			List<String> worlds = new ArrayList<>();
+			String[] tableKeys = new String[0];
+
+			while (true)
+			{
+				long tickAndIndex;
+				long blockXZ;
+				long targetWorldY;
+				try
+				{
+					tickAndIndex = in.readLong();
+					blockXZ = in.readLong();
+					targetWorldY = in.readLong();
+				}
+				catch (EOFException eofException)
+				{
+					// the end of the file, or a partial record left by an interrupted write
+					break;
+				}
+
+				int target = PlaybackRecorder.target(targetWorldY);
+				if (target == PlaybackRecorder.TARGET_TABLE)
+				{
+					tableKeys = new String[in.readInt()];
+					for (int i = 0; i < tableKeys.length; i++)
+					{
+						tableKeys[i] = in.readUTF();
+					}
+				}
+				else if (target == PlaybackRecorder.TARGET_WORLD)
+				{
+					// world numbers are assigned in order from 1
+					worlds.add(in.readUTF());
+				}
+				else
+				{
+					int index = (int) tickAndIndex;
+					int worldNumber = PlaybackRecorder.worldNumber(targetWorldY);
+					records.add(new long[] { tickAndIndex, blockXZ, targetWorldY });
+					recordKeys.add(index >= 0 && index < tableKeys.length ? tableKeys[index] : null);
+					recordWorlds.add(worldNumber > 0 && worldNumber <= worlds.size() ? worlds.get(worldNumber - 1) : null);
+				}
+			}
+
+			int[] ticks = new int[records.size()];
+			byte[] targets = new byte[records.size()];
+			int[] blockXs = new int[records.size()];
+			int[] blockYs = new int[records.size()];
+			int[] blockZs = new int[records.size()];
+			for (int i = 0; i < records.size(); i++)
+			{
+				long[] record = records.get(i);
+				ticks[i] = (int) (record[0] >>> 32);
+				blockXs[i] = PlaybackRecorder.blockX(record[1]);
+				blockZs[i] = PlaybackRecorder.blockZ(record[1]);
+				targets[i] = (byte) PlaybackRecorder.target(record[2]);
+				blockYs[i] = PlaybackRecorder.blockY(record[2]);
+			}
+
+			return new PlaybackTrace(startTime, ticks, recordKeys.toArray(new String[0]), targets,
+					recordWorlds.toArray(new String[0]), blockXs, blockYs, blockZs);
+		}
+	}
+
+
+	/**
+	 * Get the time that recording started
+	 *
+	 * @return the start time in epoch milliseconds
+	 */
+	public long getStartTime()
+	{
+		return startTime;
+	}
+
+
+	/**
+	 * Get the number of playback requests in the trace
+	 *
+	 * @return the number of requests
+	 */
+	public int size()
+	{
+		return ticks.length;
+	}
+
+
+	/**
+	 * Get the number of ticks from the start of recording to the last request
+	 *
+	 * @return the number of ticks
+	 */
+	public int getTickCount()
+	{
+		return ticks.length > 0 ? ticks[ticks.length - 1] + 1 : 0;
+	}
+
+
+	/**
+	 * Get the sound configuration key of a request
+	 *
+	 * @param request the request number
+	 * @return the key, or null if the sound was not configured when it was recorded
+	 */
+	public String getKey(final int request)
+	{
+		return keys[request];
+	}
+
+
+	/**
+	 * Get the name of the world of a request
+	 *
+	 * @param request the request number
+	 * @return the world name, or null if the world of the request is not known
+	 */
+	public String getWorldName(final int request)
+	{
+		return worldNames[request];
+	}
+
+
+	/**
+	 * Replay the trace through a sound configuration, playing every location and entity request in one world
+	 *
+	 * @param soundConfiguration the sound configuration to play sounds
+	 * @param world              the world to play location sounds in
+	 * @param players            the players to play player sounds to, which may be empty
+	 * @param speed              the replay speed relative to the recording, or zero to replay without waiting
+	 * @return the number of requests replayed
+	 */
+	public int replay(final SoundConfiguration soundConfiguration,
+	                  final World world,
+	                  final List<? extends Player> players,
+	                  final double speed)
+	{
+		return replay(soundConfiguration, worldName -> world, players, speed);
+	}
+
+
+	/**
+	 * Replay the trace through a sound configuration. Requests that targeted a player are played to the given
+	 * players in turn, and requests that targeted a location or an entity are played at the recorded block in
+	 * the world with the recorded name, for example with {@code Bukkit::getWorld}. Location and entity requests
+	 * whose world is not found are skipped.
+	 *
+	 * @param soundConfiguration the sound configuration to play sounds
+	 * @param worlds             a function that finds a world by name, or returns null if there is none
+	 * @param players            the players to play player sounds to, which may be empty
+	 * @param speed              the replay speed relative to the recording, or zero to replay without waiting
+	 * @return the number of requests replayed
+	 */
+	public int replay(final SoundConfiguration soundConfiguration,
+	                  final Function<String, ? extends World> worlds,
+	                  final List<? extends Player> players,
+	                  final double speed)
+	{
+		// create locations before starting, so that replay timing does not include them
+		Location[] locations = new Location[ticks.length];
+		for (int i = 0; i < ticks.length; i++)
+		{
+			World world = (targets[i] != PlaybackRecorder.TARGET_PLAYER && worldNames[i] != null)
+					? worlds.apply(worldNames[i])
+					: null;
+			if (world != null)
+			{
+				locations[i] = new Location(world, blockXs[i], blockYs[i], blockZs[i]);
+			}
+		}
+
+		int replayed = 0;
+		int nextPlayer = 0;
+		long startNanos = System.nanoTime();
+
+		for (int i = 0; i < ticks.length; i++)
+		{
+			if (keys[i] == null)
+			{
+				continue;
+			}
+
+			if (speed > 0)
+			{
+				long wait = startNanos + (long) (ticks[i] * NANOS_PER_TICK / speed) - System.nanoTime();
+				if (wait > 0)
+				{
+					LockSupport.parkNanos(wait);
+				}
+			}
+
+			if (targets[i] != PlaybackRecorder.TARGET_PLAYER)
+			{
+				if (locations[i] != null)
+				{
+					soundConfiguration.playSound(locations[i], keys[i]);
+					replayed++;
+				}
+			}
+			else if (!players.isEmpty())
+			{
+				soundConfiguration.playSound(players.get(nextPlayer), keys[i]);
+				nextPlayer = (nextPlayer + 1) % players.size();
+				replayed++;
+			}
+		}
+
+		return replayed;
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.SoundCategory;
+
+import java.util.Arrays;
+
+
+/**
+ * An immutable set of sound preferences for a single player. Muted sounds are stored as a bitset
+ * over the ordinals of the sound identifier enum, and volume scales are stored per sound category.
+ */
+public final class PlayerSoundPreferences
+{
+	private static final long[] NO_BITS = new long[0];
+	private static final float[] NO_SCALES = new float[0];
+
+	/**
+	 * preferences with no muted sounds and all volume scales at 1.0
+	 */
+	public static final PlayerSoundPreferences DEFAULT = new PlayerSoundPreferences(NO_BITS, NO_SCALES);
+
+	private final long[] mutedBits;
+	private final float[] volumeScales;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param mutedBits    the muted sound bitset, indexed by sound identifier ordinal
+	 * @param volumeScales the volume scales, indexed by sound category ordinal
+	 */
+	PlayerSoundPreferences(final long[] mutedBits, final float[] volumeScales)
+	{
+		this.mutedBits = mutedBits;
+		this.volumeScales = volumeScales;
+	}
+
+
+	/**
+	 * Test if a sound is muted
+	 *
+	 * @param ordinal the ordinal of the sound identifier enum member
+	 * @return true if the sound is muted; false if not
+	 */
+	public boolean isMuted(final int ordinal)
+	{
+		int word = ordinal >>> 6;
+		return word < mutedBits.length && (mutedBits[word] & (1L << ordinal)) != 0;
+	}
+
+
+	/**
+	 * Test if a sound is muted
+	 *
+	 * @param soundId the sound identifier enum member
+	 * @return true if the sound is muted; false if not
+	 */
+	public boolean isMuted(final Enum<?> soundId)
+	{
+		return isMuted(soundId.ordinal());
+	}
+
+
+	/**
+	 * Get a copy of these preferences with a sound muted or unmuted
+	 *
+	 * @param soundId the sound identifier enum member
+	 * @param muted   true to mute the sound, false to unmute
+	 * @return the new preferences
+	 */
+	public PlayerSoundPreferences withMuted(final Enum<?> soundId, final boolean muted)
+	{
+		int ordinal = soundId.ordinal();
+		int word = ordinal >>> 6;
+
+		long[] bits = Arrays.copyOf(mutedBits, Math.max(mutedBits.length, word + 1));
+		if (muted)
+		{
+			bits[word] |= 1L << ordinal;
+		}
+		else
+		{
+			bits[word] &= ~(1L << ordinal);
+		}
+
+		return new PlayerSoundPreferences(trim(bits), volumeScales);
+	}
+
+
+	/**
+	 * Get the volume scale for a sound category
+	 *
+	 * @param category the sound category
+	 * @return the volume scale for the category, 1.0 if not set
+	 */
+	public float getVolumeScale(final SoundCategory category)
+	{
+		int index = category.ordinal();
+		return index < volumeScales.length ? volumeScales[index] : 1.0f;
+	}
+
+
+	/**
+	 * Get a copy of these preferences with a volume scale set for a sound category
+	 *
+	 * @param category the sound category
+	 * @param scale    the volume scale, clamped to the range 0.0 - 1.0
+	 * @return the new preferences
+	 */
+	public PlayerSoundPreferences withVolumeScale(final SoundCategory category, final float scale)
+	{
+		int index = category.ordinal();
+		int oldLength = volumeScales.length;
+
+		float[] scales = Arrays.copyOf(volumeScales, Math.max(oldLength, index + 1));
+		if (scales.length > oldLength)
+		{
+			Arrays.fill(scales, oldLength, scales.length, 1.0f);
+		}
+		scales[index] = Math.max(0.0f, Math.min(1.0f, scale));
+
+		return new PlayerSoundPreferences(mutedBits, trim(scales));
+	}
+
+
+	/**
+	 * Test if these preferences are equivalent to the defaults
+	 *
+	 * @return true if no sounds are muted and all volume scales are 1.0; false if not
+	 */
+	public boolean isDefault()
+	{
+		return mutedBits.length == 0 && volumeScales.length == 0;
+	}
+
+
+	long[] mutedBits()
+	{
+		return mutedBits;
+	}
+
+
+	float[] volumeScales()
+	{
+		return volumeScales;
+	}
+
+
+	@Override
+	public boolean equals(final Object other)
+	{
+		return other instanceof PlayerSoundPreferences that
+				&& Arrays.equals(this.mutedBits, that.mutedBits)
+				&& Arrays.equals(this.volumeScales, that.volumeScales);
+	}
+
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * Arrays.hashCode(mutedBits) + Arrays.hashCode(volumeScales);
+	}
+
+
+	private static long[] trim(final long[] bits)
+	{
+		int length = bits.length;
+		while (length > 0 && bits[length - 1] == 0)
+		{
+			length--;
+		}
+		return length == 0 ? NO_BITS : Arrays.copyOf(bits, length);
+	}
+
+
+	private static float[] trim(final float[] scales)
+	{
+		int length = scales.length;
+		while (length > 0 && scales[length - 1] == 1.0f)
+		{
+			length--;
+		}
+		return length == 0 ? NO_SCALES : Arrays.copyOf(scales, length);
+	}
+
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+
+/**
+ * A binding of a sound identifier enum to the compiled sound table, which plays sounds by enum ordinal.
+ * The table index of every enum member is looked up once, and again only after the sound configuration
+ * is reloaded, so playback does not need the member name or a key lookup. Accessor classes generated by
+ * the sound-config-processor module use a binding with constant ordinals.
+ */
+public final class SoundBinding
+{
+	private final YamlSoundConfiguration soundConfiguration;
+	private final String[] keys;
+	private volatile BoundIndexes boundIndexes;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param soundConfiguration the sound configuration
+	 * @param enumClass          the sound identifier enum class
+	 */
+	SoundBinding(final YamlSoundConfiguration soundConfiguration, final Class<? extends Enum<?>> enumClass)
+	{
+		this.soundConfiguration = soundConfiguration;
+
+		Enum<?>[] constants = enumClass.getEnumConstants();
+		this.keys = new String[constants.length];
+		for (Enum<?> constant : constants)
+		{
+			keys[constant.ordinal()] = constant.name();
+		}
+	}
+
+
+	/**
+	 * Play sound effect for player
+	 *
+	 * @param player  the player to play sound
+	 * @param ordinal the ordinal of the sound identifier enum member
+	 */
+	public void playSound(final Player player, final int ordinal)
+	{
+		if (player == null)
+		{
+			return;
+		}
+
+		SoundTable soundTable = soundConfiguration.soundTable();
+		soundConfiguration.playSound(player, soundTable, indexOf(soundTable, ordinal), ordinal);
+	}
+
+
+	/**
+	 * Play sound effect for location
+	 *
+	 * @param location the location at which to play sound
+	 * @param ordinal  the ordinal of the sound identifier enum member
+	 */
+	public void playSound(final Location location, final int ordinal)
+	{
+		if (location == null)
+		{
+			return;
+		}
+
+		SoundTable soundTable = soundConfiguration.soundTable();
+		soundConfiguration.playSound(location, soundTable, indexOf(soundTable, ordinal));
+	}
+
+
+	/**
+	 * Get the sound table index of an enum member. The table and its indexes are replaced together,
+	 * so an index is never used with a table that was loaded by a concurrent reload.
+	 *
+	 * @param soundTable the sound table
+	 * @param ordinal    the ordinal of the sound identifier enum member
+	 * @return the sound table index, or -1 if the member is not in the sound configuration
+	 */
+	int indexOf(final SoundTable soundTable, final int ordinal)
+	{
+		int[] indexes = bind(soundTable).indexes();
+		return ordinal >= 0 && ordinal < indexes.length ? indexes[ordinal] : -1;
+	}
+
+
+	/**
+	 * Get the ordinal of the enum member with the key of a sound table index, so that player mutes
+	 * apply to sounds that are played by key
+	 *
+	 * @param soundTable the sound table
+	 * @param index      the sound table index
+	 * @return the ordinal of the enum member, or -1 if no member has the key of the index
+	 */
+	int ordinalOf(final SoundTable soundTable, final int index)
+	{
+		int[] ordinals = bind(soundTable).ordinals();
+		return index >= 0 && index < ordinals.length ? ordinals[index] : YamlSoundConfiguration.NO_ORDINAL;
+	}
+
+
+	private BoundIndexes bind(final SoundTable soundTable)
+	{
+		BoundIndexes bound = boundIndexes;
+		if (bound == null || bound.soundTable() != soundTable)
+		{
+			int[] indexes = new int[keys.length];
+			int[] ordinals = new int[soundTable.size()];
+			Arrays.fill(ordinals, YamlSoundConfiguration.NO_ORDINAL);
+			for (int i = 0; i < keys.length; i++)
+			{
+				indexes[i] = soundTable.indexOf(keys[i]);
+				if (indexes[i] != -1)
+				{
+					ordinals[indexes[i]] = i;
+				}
+			}
+			bound = new BoundIndexes(soundTable, indexes, ordinals);
+			boundIndexes = bound;
+		}
+		return bound;
+	}
+
+
+	private record BoundIndexes(SoundTable soundTable, int[] indexes, int[] ordinals) { }
+
+}
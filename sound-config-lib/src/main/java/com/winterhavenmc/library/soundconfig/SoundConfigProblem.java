@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+/**
+ * A problem found in a sound configuration when it is compiled, merged or validated
+ * @param file {@code String} the file, relative to the plugin data folder, or null if the sound configuration
+ *             was compiled from one file and not merged
+ * @param key {@code String} the sound configuration key, the position of a binding such as {@code bindings[0]},
+ *            or null for a problem with the file
+ * @param type {@code SoundConfigProblemType} the kind of problem
+ * @param message {@code String} a description of the problem
+ */
+public record SoundConfigProblem(String file, String key, SoundConfigProblemType type, String message) { }
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+/**
+ * The kind of a problem found in a sound configuration
+ */
+public enum SoundConfigProblemType
+{
+	/** the file cannot be read */
+	READ(true),
+	/** the file is not valid yaml */
+	PARSE(true),
+	/** the entry failed validation */
+	INVALID(true),
+	/** the sound name is not in the sound name list */
+	UNRESOLVED(true),
+	/** the key is defined in an earlier file */
+	DUPLICATE(true),
+	/** the event sound binding is not valid, and will be ignored */
+	BINDING(true),
+	/** the sound category is not valid, and the master category will be used */
+	CATEGORY(false),
+	/** the sound name is a legacy name, which will be migrated to its current name when loaded */
+	LEGACY(false),
+	/** the sound group is ignored, because the maximum number of sound groups are configured */
+	GROUP(false);
+
+	private final boolean error;
+
+	SoundConfigProblemType(final boolean error)
+	{
+		this.error = error;
+	}
+
+	/**
+	 * Check if problems of this type prevent a sound from being played
+	 *
+	 * @return true if the problem is an error, false if it is a warning
+	 */
+	public boolean isError()
+	{
+		return error;
+	}
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+
+/**
+ * A registry shared by the sound configurations that use this copy of the library. Sound names and keys are
+ * interned, and sound names are resolved against the bukkit sound registry once. Names are held weakly, so a
+ * name and its resolved sound are forgotten when no sound table of any configuration uses the name, such as
+ * after a reload or when its plugin is disabled. Each sound configuration registers itself, so the registry
+ * also provides an aggregated view of metrics and validation results for its plugins.
+ * <p>
+ * A plugin that shades the library has its own copy of this class, and so its own registry. The shared
+ * registry is released when the last sound configuration that uses it is closed.
+ */
+public final class SoundConfigRegistry
+{
+	// guarded by SoundConfigRegistry.class
+	private static SoundConfigRegistry instance;
+
+	// guarded by itself
+	private final Map<String, Name> names = new WeakHashMap<>();
+	// guarded by SoundConfigRegistry.class for changes
+	private final Map<Plugin, Supplier<SoundConfigReport>> configurations = new ConcurrentHashMap<>();
+	private final Function<String, Sound> resolver;
+	private final boolean shared;
+
+
+	private SoundConfigRegistry()
+	{
+		this.resolver = name -> Registry.SOUNDS.match(name);
+		this.shared = true;
+	}
+
+
+	/**
+	 * Create a registry that is not shared, which resolves sound names with a function instead of the bukkit
+	 * sound registry, for validating sound configurations without a server
+	 *
+	 * @param resolver the function that resolves a sound name, returning null if the name is not known
+	 */
+	SoundConfigRegistry(final Function<String, Sound> resolver)
+	{
+		this.resolver = resolver;
+		this.shared = false;
+	}
+
+
+	/**
+	 * Get the shared registry, creating it if necessary
+	 *
+	 * @return the shared registry
+	 */
+	public static synchronized SoundConfigRegistry getInstance()
+	{
+		if (instance == null)
+		{
+			instance = new SoundConfigRegistry();
+		}
+		return instance;
+	}
+
+
+	/**
+	 * Get the canonical instance of a sound name or key
+	 *
+	 * @param name the name
+	 * @return the canonical instance of the name, or null if the name is null
+	 */
+	public String intern(final String name)
+	{
+		if (name == null)
+		{
+			return null;
+		}
+		synchronized (names)
+		{
+			// an entry whose name has been collected, but has not yet been removed, is replaced
+			Name entry = names.get(name);
+			String canonical = (entry != null) ? entry.canonical() : null;
+			if (canonical == null)
+			{
+				canonical = name;
+				names.put(canonical, new Name(canonical));
+			}
+			return canonical;
+		}
+	}
+
+
+	/**
+	 * Resolve a sound name against the bukkit sound registry. Each name is looked up only once while it is interned.
+	 *
+	 * @param name the bukkit sound name
+	 * @return the sound, or null if the name is not in the sound registry
+	 */
+	public Sound resolve(final String name)
+	{
+		if (name == null)
+		{
+			return null;
+		}
+		synchronized (names)
+		{
+			String canonical = intern(name);
+			Name entry = names.get(canonical);
+			if (entry.sound == null)
+			{
+				entry.sound = Optional.ofNullable(resolver.apply(canonical));
+			}
+			return entry.sound.orElse(null);
+		}
+	}
+
+
+	int nameCount()
+	{
+		synchronized (names)
+		{
+			return names.size();
+		}
+	}
+
+
+	/**
+	 * Clear the references to every interned name, as if the names had been collected
+	 */
+	void clearReferences()
+	{
+		synchronized (names)
+		{
+			for (Name entry : names.values())
+			{
+				entry.canonical.clear();
+			}
+		}
+	}
+
+
+	/**
+	 * Get metrics and validation results for every registered sound configuration
+	 *
+	 * @return a list of reports, one for each plugin
+	 */
+	public List<SoundConfigReport> getReports()
+	{
+		List<SoundConfigReport> reports = new ArrayList<>();
+		for (Supplier<SoundConfigReport> supplier : configurations.values())
+		{
+			reports.add(supplier.get());
+		}
+		reports.sort(Comparator.comparing(SoundConfigReport::pluginName, Comparator.nullsFirst(Comparator.naturalOrder())));
+		return reports;
+	}
+
+
+	/**
+	 * Get metrics and validation results totalled over every registered sound configuration
+	 *
+	 * @return a report for all plugins
+	 */
+	public SoundConfigReport getTotals()
+	{
+		int entryCount = 0;
+		int invalidCount = 0;
+		int unresolvedCount = 0;
+		int groupCount = 0;
+		List<String> problems = new ArrayList<>();
+
+		for (SoundConfigReport report : getReports())
+		{
+			entryCount += report.entryCount();
+			invalidCount += report.invalidCount();
+			unresolvedCount += report.unresolvedCount();
+			groupCount += report.groupCount();
+			for (String problem : report.problems())
+			{
+				problems.add(report.pluginName() + ": " + problem);
+			}
+		}
+
+		return new SoundConfigReport("*", entryCount, invalidCount, unresolvedCount, groupCount, problems);
+	}
+
+
+	void register(final Plugin plugin, final Supplier<SoundConfigReport> reportSupplier)
+	{
+		synchronized (SoundConfigRegistry.class)
+		{
+			configurations.put(plugin, reportSupplier);
+
+			// a registry that was released while this configuration was created is shared again
+			if (shared && instance == null)
+			{
+				instance = this;
+			}
+		}
+	}
+
+
+	/**
+	 * Remove the sound configuration of a plugin, releasing the shared registry if no configuration uses it
+	 *
+	 * @param plugin the plugin whose sound configuration was closed
+	 */
+	void unregister(final Plugin plugin)
+	{
+		synchronized (SoundConfigRegistry.class)
+		{
+			configurations.remove(plugin);
+			if (configurations.isEmpty() && instance == this)
+			{
+				instance = null;
+			}
+		}
+	}
+
+
+	/**
+	 * An interned name and its resolved sound. The name is held weakly, because it is also the key of the entry.
+	 */
+	private static final class Name
+	{
+		private final WeakReference<String> canonical;
+
+		// guarded by names
+		private Optional<Sound> sound;
+
+
+		private Name(final String canonical)
+		{
+			this.canonical = new WeakReference<>(canonical);
+		}
+
+
+		private String canonical()
+		{
+			return canonical.get();
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import java.util.List;
+
+/**
+ * A class that contains metrics and validation results for a loaded sound configuration
+ * @param pluginName {@code String} the name of the plugin that owns the sound configuration
+ * @param entryCount {@code int} the number of sound entries in the sound configuration
+ * @param invalidCount {@code int} the number of sound entries that failed validation
+ * @param unresolvedCount {@code int} the number of sound entries whose sound name is not in the sound registry
+ * @param groupCount {@code int} the number of sound groups in the sound configuration
+ * @param problems {@code List<String>} a description of each validation problem
+ */
+public record SoundConfigReport(String pluginName,
+                                int entryCount,
+                                int invalidCount,
+                                int unresolvedCount,
+                                int groupCount,
+                                List<String> problems) { }
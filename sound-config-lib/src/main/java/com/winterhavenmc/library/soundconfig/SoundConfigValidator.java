@@ -0,0 +1,453 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+
+/**
+ * A validator for the sound configurations of every plugin in a plugins directory, which runs without a server.
+ * Sound names are checked against a list of sound names, such as one exported from a server running the new
+ * version with {@link #exportSoundNames(Path)}, instead of the live sound registry. Entries are validated with
+ * the same checks as when a sound configuration is loaded, and plugins are validated in parallel.
+ * <p>
+ * Run from the command line with the library and the bukkit api on the class path:
+ * <pre>
+ * java com.winterhavenmc.library.soundconfig.SoundConfigValidator plugins --sounds sound-names.txt [--output report.json]
+ * </pre>
+ * The report is written as json, and the exit status is 0 if no errors were found, 1 if errors were found,
+ * or 2 if the arguments or the sound name list are not valid.
+ */
+public final class SoundConfigValidator
+{
+	private static final String SOUND_FILE_NAME = "sounds.yml";
+	private static final Logger LOGGER = Logger.getLogger(SoundConfigValidator.class.getName());
+
+	private final Set<String> soundNames;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param soundNames the names of the sounds in the sound registry
+	 */
+	public SoundConfigValidator(final Collection<String> soundNames)
+	{
+		Set<String> normalized = new HashSet<>();
+		for (String soundName : soundNames)
+		{
+			normalized.add(normalize(soundName));
+		}
+		this.soundNames = Set.copyOf(normalized);
+	}
+
+
+	/**
+	 * Read a sound name list. Each line contains one sound name, and blank lines and lines that begin
+	 * with {@code #} are ignored.
+	 *
+	 * @param file the sound name list
+	 * @return the sound names
+	 * @throws IOException if the file cannot be read
+	 */
+	public static List<String> readSoundNames(final Path file) throws IOException
+	{
+		List<String> soundNames = new ArrayList<>();
+		for (String line : Files.readAllLines(file, StandardCharsets.UTF_8))
+		{
+			String name = line.strip();
+			if (!name.isEmpty() && !name.startsWith("#"))
+			{
+				soundNames.add(name);
+			}
+		}
+		return soundNames;
+	}
+
+
+	/**
+	 * Write the names of the sounds in the sound registry of the running server to a sound name list
+	 *
+	 * @param file the sound name list, which is replaced if it exists
+	 * @throws IOException if the file cannot be written
+	 */
+	public static void exportSoundNames(final Path file) throws IOException
+	{
+		Set<String> soundNames = new TreeSet<>();
+		for (Sound sound : Registry.SOUNDS)
+		{
+			soundNames.add(normalize(sound.getKey().getKey()));
+		}
+
+		List<String> lines = new ArrayList<>();
+		lines.add("# Sound names exported from the server sound registry");
+		lines.addAll(soundNames);
+		Files.write(file, lines, StandardCharsets.UTF_8);
+	}
+
+
+	/**
+	 * Validate the sound configuration of every plugin in a plugins directory. A plugin has a sound configuration
+	 * if its data folder has a sounds.yml file or a sounds directory.
+	 *
+	 * @param pluginsDirectory the plugins directory
+	 * @return the results for each plugin, sorted by plugin name
+	 * @throws IOException if the plugins directory cannot be read
+	 */
+	public List<Result> validate(final Path pluginsDirectory) throws IOException
+	{
+		List<Path> dataFolders;
+		try (Stream<Path> paths = Files.list(pluginsDirectory))
+		{
+			dataFolders = paths.filter(Files::isDirectory)
+					.filter(path -> Files.isRegularFile(path.resolve(SOUND_FILE_NAME))
+							|| Files.isDirectory(path.resolve(SoundFileLoader.DIRECTORY_NAME)))
+					.sorted()
+					.toList();
+		}
+
+		return dataFolders.parallelStream()
+				.map(dataFolder -> validate(dataFolder.getFileName().toString(), dataFolder.resolve(SOUND_FILE_NAME).toFile()))
+				.toList();
+	}
+
+
+	/**
+	 * Validate the sound configuration of one plugin, from its sound file and the files in its sounds directory.
+	 * The files are found, parsed, compiled and merged by the same code as when they are loaded, with sound
+	 * names resolved against the sound name list, and the bindings of each file are checked against the merged
+	 * table. Event classes are loaded from the class path of the validator, so a binding to an event that is
+	 * declared by a plugin is reported unless the plugin is on the class path.
+	 *
+	 * @param pluginName the name of the plugin
+	 * @param soundFile  the sound configuration file
+	 * @return the result
+	 */
+	public Result validate(final String pluginName, final File soundFile)
+	{
+		List<File> files = SoundFileLoader.files(soundFile, LOGGER);
+		List<String> sources = new ArrayList<>();
+		List<SoundTable> tables = new ArrayList<>();
+		List<List<Map<?, ?>>> bindings = new ArrayList<>();
+		List<SoundConfigProblem> problems = new ArrayList<>();
+
+		// sound names are resolved by the sound name list after compiling, because there is no sound registry
+		SoundConfigRegistry registry = new SoundConfigRegistry(name -> null);
+
+		for (File file : files)
+		{
+			String source = SoundFileLoader.sourceName(soundFile, file);
+			sources.add(source);
+
+			YamlConfiguration config;
+			try
+			{
+				config = SoundFileLoader.parse(Files.readAllBytes(file.toPath()));
+			}
+			catch (IOException ioException)
+			{
+				problems.add(new SoundConfigProblem(source, null, SoundConfigProblemType.READ,
+						"The file cannot be read: " + ioException));
+				config = new YamlConfiguration();
+			}
+			catch (InvalidConfigurationException invalidConfigurationException)
+			{
+				problems.add(new SoundConfigProblem(source, null, SoundConfigProblemType.PARSE,
+						invalidConfigurationException.getMessage()));
+				config = new YamlConfiguration();
+			}
+
+			tables.add(SoundTable.compile(config, registry,
+					(key, warning) -> problems.add(new SoundConfigProblem(source, key, SoundConfigProblemType.CATEGORY, warning))));
+			bindings.add(SoundFileLoader.bindings(config));
+		}
+
+		// the problems of a single file are not given its name by merging
+		SoundTable table = SoundTable.merge(tables, sources);
+		for (SoundConfigProblem problem : table.problems())
+		{
+			SoundConfigProblem located = (problem.file() != null)
+					? problem
+					: new SoundConfigProblem(sources.get(0), problem.key(), problem.type(), problem.message());
+			SoundConfigProblem resolved = resolve(tables.get(sources.indexOf(located.file())), located);
+			if (resolved != null)
+			{
+				problems.add(resolved);
+			}
+		}
+
+		// report problems in file and entry order, as they are reported when the files are loaded
+		Comparator<SoundConfigProblem> fileOrder = Comparator.comparingInt(problem -> sources.indexOf(problem.file()));
+		problems.sort(fileOrder.thenComparingInt(problem -> (problem.key() != null)
+				? tables.get(sources.indexOf(problem.file())).indexOf(problem.key())
+				: -1));
+
+		for (int f = 0; f < files.size(); f++)
+		{
+			String source = sources.get(f);
+			List<Map<?, ?>> fileBindings = bindings.get(f);
+			for (int b = 0; b < fileBindings.size(); b++)
+			{
+				String key = EventSoundBindings.SECTION + "[" + b + "]";
+				EventSoundBindings.validate(List.of(fileBindings.get(b)), table, SoundConfigValidator.class.getClassLoader(),
+						warning -> problems.add(new SoundConfigProblem(source, key, SoundConfigProblemType.BINDING, warning)));
+			}
+		}
+
+		return new Result(pluginName, List.copyOf(sources), table.size(), List.copyOf(problems));
+	}
+
+
+	/**
+	 * Resolve the sound name of an unresolved entry against the sound name list
+	 *
+	 * @return the problem, a legacy name warning, or null if the sound name is in the list
+	 */
+	private SoundConfigProblem resolve(final SoundTable fileTable, final SoundConfigProblem problem)
+	{
+		if (problem.type() != SoundConfigProblemType.UNRESOLVED)
+		{
+			return problem;
+		}
+
+		String soundName = fileTable.soundName(fileTable.indexOf(problem.key()));
+		if (soundNames.contains(normalize(soundName)))
+		{
+			return null;
+		}
+
+		SoundNameAliases.Alias alias = SoundNameAliases.lookup(soundName);
+		if (alias != null && soundNames.contains(normalize(alias.name())))
+		{
+			return new SoundConfigProblem(problem.file(), problem.key(), SoundConfigProblemType.LEGACY, "the sound name '"
+					+ soundName + "' was renamed to '" + alias.name() + "' in Minecraft " + alias.version() + ".");
+		}
+
+		return problem;
+	}
+
+
+	/**
+	 * Write validation results as json
+	 *
+	 * @param results the results
+	 * @return the json report
+	 */
+	public String toJson(final List<Result> results)
+	{
+		StringBuilder json = new StringBuilder();
+		int errorCount = 0;
+		int warningCount = 0;
+		for (Result result : results)
+		{
+			errorCount += result.errorCount();
+			warningCount += result.problems().size() - result.errorCount();
+		}
+
+		json.append("{\n");
+		json.append("  \"soundNameCount\": ").append(soundNames.size()).append(",\n");
+		json.append("  \"errorCount\": ").append(errorCount).append(",\n");
+		json.append("  \"warningCount\": ").append(warningCount).append(",\n");
+		json.append("  \"plugins\": [");
+		for (int i = 0; i < results.size(); i++)
+		{
+			Result result = results.get(i);
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append("    {\n");
+			json.append("      \"plugin\": ").append(quote(result.pluginName())).append(",\n");
+			json.append("      \"files\": [");
+			for (int f = 0; f < result.files().size(); f++)
+			{
+				json.append(f == 0 ? "" : ", ").append(quote(result.files().get(f)));
+			}
+			json.append("],\n");
+			json.append("      \"entryCount\": ").append(result.entryCount()).append(",\n");
+			json.append("      \"problems\": [");
+			for (int p = 0; p < result.problems().size(); p++)
+			{
+				SoundConfigProblem problem = result.problems().get(p);
+				json.append(p == 0 ? "\n" : ",\n");
+				json.append("        { \"file\": ").append(quote(problem.file()))
+						.append(", \"key\": ").append(quote(problem.key()))
+						.append(", \"type\": ").append(quote(problem.type().name().toLowerCase(Locale.ROOT)))
+						.append(", \"error\": ").append(problem.type().isError())
+						.append(", \"message\": ").append(quote(problem.message())).append(" }");
+			}
+			json.append(result.problems().isEmpty() ? "]\n" : "\n      ]\n");
+			json.append("    }");
+		}
+		json.append(results.isEmpty() ? "]\n" : "\n  ]\n");
+		json.append("}\n");
+		return json.toString();
+	}
+
+
+	/**
+	 * Validate the sound configurations in a plugins directory from the command line
+	 *
+	 * @param args the plugins directory, followed by {@code --sounds <sound name list>}
+	 *             and optionally {@code --output <report file>}
+	 */
+	public static void main(final String[] args)
+	{
+		System.exit(run(args, System.out, System.err));
+	}
+
+
+	static int run(final String[] args, final PrintStream out, final PrintStream err)
+	{
+		Path pluginsDirectory = null;
+		Path soundNameFile = null;
+		Path outputFile = null;
+
+		for (int i = 0; i < args.length; i++)
+		{
+			if (args[i].equals("--sounds") && i + 1 < args.length)
+			{
+				soundNameFile = Path.of(args[++i]);
+			}
+			else if (args[i].equals("--output") && i + 1 < args.length)
+			{
+				outputFile = Path.of(args[++i]);
+			}
+			else if (pluginsDirectory == null && !args[i].startsWith("--"))
+			{
+				pluginsDirectory = Path.of(args[i]);
+			}
+			else
+			{
+				pluginsDirectory = null;
+				break;
+			}
+		}
+
+		if (pluginsDirectory == null || soundNameFile == null)
+		{
+			err.println("usage: SoundConfigValidator <plugins directory> --sounds <sound name list> [--output <report file>]");
+			return 2;
+		}
+
+		try
+		{
+			SoundConfigValidator validator = new SoundConfigValidator(readSoundNames(soundNameFile));
+			List<Result> results = validator.validate(pluginsDirectory);
+			String report = validator.toJson(results);
+
+			if (outputFile != null)
+			{
+				Files.writeString(outputFile, report, StandardCharsets.UTF_8);
+			}
+			else
+			{
+				out.print(report);
+			}
+
+			return results.stream().anyMatch(result -> result.errorCount() > 0) ? 1 : 0;
+		}
+		catch (IOException ioException)
+		{
+			err.println(ioException);
+			return 2;
+		}
+	}
+
+
+	/**
+	 * Normalize a sound name or registry key, so that {@code ENTITY_VILLAGER_NO} and
+	 * {@code minecraft:entity.villager.no} are the same name
+	 */
+	private static String normalize(final String name)
+	{
+		String normalized = name.strip();
+		if (normalized.startsWith("minecraft:"))
+		{
+			normalized = normalized.substring("minecraft:".length());
+		}
+		return normalized.toUpperCase(Locale.ROOT).replace('.', '_');
+	}
+
+
+	private static String quote(final String value)
+	{
+		if (value == null)
+		{
+			return "null";
+		}
+
+		StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			switch (c)
+			{
+				case '"' -> quoted.append("\\\"");
+				case '\\' -> quoted.append("\\\\");
+				case '\n' -> quoted.append("\\n");
+				case '\r' -> quoted.append("\\r");
+				case '\t' -> quoted.append("\\t");
+				default ->
+				{
+					if (c < 0x20)
+					{
+						quoted.append(String.format("\\u%04x", (int) c));
+					}
+					else
+					{
+						quoted.append(c);
+					}
+				}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+
+	/**
+	 * The validation result for the sound configuration of one plugin
+	 * @param pluginName {@code String} the name of the plugin data folder
+	 * @param files {@code List<String>} the files validated, relative to the plugin data folder
+	 * @param entryCount {@code int} the number of sound entries
+	 * @param problems {@code List<SoundConfigProblem>} the problems found
+	 */
+	public record Result(String pluginName, List<String> files, int entryCount, List<SoundConfigProblem> problems)
+	{
+		/**
+		 * Get the number of problems that are errors
+		 *
+		 * @return the number of errors
+		 */
+		public int errorCount()
+		{
+			return (int) problems.stream().filter(problem -> problem.type().isError()).count();
+		}
+	}
+
+}
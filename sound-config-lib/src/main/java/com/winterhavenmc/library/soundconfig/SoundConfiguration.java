@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2022-2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Location;
+import org.bukkit.SoundCategory;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+
+
+/**
+ * An interface that facilitates loading a custom sound configuration file and provides methods to play sounds in game
+ */
+public interface SoundConfiguration
+{
+	/**
+	 * get all keys from the sound configuration
+	 *
+	 * @return a Collection of String of sound configuration keys
+	 */
+	Collection<String> getKeys();
+
+
+	/**
+	 * Reload sound configuration
+	 */
+	void reload();
+
+
+	/**
+	 * Play sound effect for a command sender, if it is a player. This has its own name, because a sender
+	 * such as a command minecart is also an entity, and would match both overloads of {@code playSound}.
+	 *
+	 * @param sender  the command sender (player) to play sound
+	 * @param soundId the sound identifier enum member
+	 */
+	default void playSoundTo(final CommandSender sender, final Enum<?> soundId)
+	{
+		if (sender instanceof Player player)
+		{
+			playSound(player, soundId);
+		}
+	}
+
+
+	/**
+	 * Play sound effect for player. The sound is anchored to the player and no location is allocated.
+	 * The default implementation plays the sound at the location of the player.
+	 *
+	 * @param player  the player to play sound
+	 * @param soundId the sound identifier enum member
+	 */
+	default void playSound(final Player player, final Enum<?> soundId)
+	{
+		if (player != null)
+		{
+			playSound(player.getLocation(), soundId);
+		}
+	}
+
+
+	/**
+	 * Play sound effect anchored to an entity, so that the sound follows the entity.
+	 * The default implementation plays the sound at the location of the entity.
+	 *
+	 * @param entity  the entity at which to play sound
+	 * @param soundId the sound identifier enum member
+	 */
+	default void playSound(final Entity entity, final Enum<?> soundId)
+	{
+		if (entity instanceof Player player)
+		{
+			playSound(player, soundId);
+		}
+		else if (entity != null)
+		{
+			playSound(entity.getLocation(), soundId);
+		}
+	}
+
+
+	/**
+	 * Play sound effect for player, for sound keys that are built at runtime.
+	 * Player sound mutes apply only to sounds played by enum member.
+	 *
+	 * @param player the player to play sound
+	 * @param key    the sound configuration key
+	 * @throws UnsupportedOperationException if the implementation does not play sounds by key
+	 */
+	default void playSound(final Player player, final String key)
+	{
+		throw new UnsupportedOperationException("Sounds cannot be played by key.");
+	}
+
+
+	/**
+	 * Play sound effect for location
+	 *
+	 * @param location the location at which to play sound
+	 * @param soundId  the sound identifier enum member
+	 */
+	void playSound(final Location location, final Enum<?> soundId);
+
+
+	/**
+	 * Play sound effect for location, for sound keys that are built at runtime
+	 *
+	 * @param location the location at which to play sound
+	 * @param key      the sound configuration key
+	 * @throws UnsupportedOperationException if the implementation does not play sounds by key
+	 */
+	default void playSound(final Location location, final String key)
+	{
+		throw new UnsupportedOperationException("Sounds cannot be played by key.");
+	}
+
+
+	/**
+	 * Bind a sound identifier enum to the sound configuration, for playing sounds by constant ordinal.
+	 * Player mutes are stored by the ordinals of the first enum bound, or first used to play a sound,
+	 * and apply to sounds played by key or by event bindings whose key is a member of that enum.
+	 *
+	 * @param enumClass the sound identifier enum class
+	 * @return the binding
+	 * @throws UnsupportedOperationException if the implementation does not support bindings
+	 */
+	default SoundBinding bind(final Class<? extends Enum<?>> enumClass)
+	{
+		throw new UnsupportedOperationException("Sound identifier enums cannot be bound.");
+	}
+
+
+	/**
+	 * Test string is valid bukkit sound name
+	 *
+	 * @param name the string to test
+	 * @return true if passed string is contained in the bukkit sounds enum; false if not
+	 */
+	@Deprecated
+	boolean isValidBukkitSoundName(final String name);
+
+
+	/**
+	 * Test string is valid sound config key in sounds.yml file
+	 *
+	 * @param key the string to test
+	 * @return true if passed string is a valid key in sounds.yml file; false if not
+	 */
+	boolean isValidSoundConfigKey(final String key);
+
+
+	/**
+	 * Get bukkit sound name for sound config file key
+	 *
+	 * @param key sound config file key
+	 * @return String - the bukkit sound name for key
+	 */
+	String getBukkitSoundName(final String key);
+
+
+	/**
+	 * Get the names of all sound groups in the sound configuration
+	 *
+	 * @return a Collection of String of sound group names, which is empty by default
+	 */
+	default Collection<String> getGroups()
+	{
+		return Set.of();
+	}
+
+
+	/**
+	 * Test if a sound group is enabled
+	 *
+	 * @param group the sound group name
+	 * @return true if the sounds in the group may be played; false if they are disabled
+	 */
+	default boolean isGroupEnabled(final String group)
+	{
+		return true;
+	}
+
+
+	/**
+	 * Enable or disable all sounds in a sound group
+	 *
+	 * @param group   the sound group name
+	 * @param enabled true to enable the sounds in the group, false to disable them
+	 * @throws UnsupportedOperationException if the implementation does not support sound groups
+	 */
+	default void setGroupEnabled(final String group, final boolean enabled)
+	{
+		throw new UnsupportedOperationException("Sound groups are not supported.");
+	}
+
+
+	/**
+	 * Stop a sound for a player, if it is playing. Only sounds configured with a duration are tracked while
+	 * they play, and a sound is stopped only if it was played to the player and its duration has not ended.
+	 *
+	 * @param player  the player
+	 * @param soundId the sound identifier enum member
+	 */
+	default void stopSound(final Player player, final Enum<?> soundId)
+	{
+		// no sounds are tracked by default
+	}
+
+
+	/**
+	 * Stop the tracked sounds in a sound category for a player, if any are playing
+	 *
+	 * @param player   the player
+	 * @param category the sound category
+	 */
+	default void stopCategory(final Player player, final SoundCategory category)
+	{
+		// no sounds are tracked by default
+	}
+
+
+	/**
+	 * Stop a sound for each of the players that it is playing for
+	 *
+	 * @param players the players
+	 * @param soundId the sound identifier enum member
+	 */
+	default void stopAll(final Collection<? extends Player> players, final Enum<?> soundId)
+	{
+		for (Player player : players)
+		{
+			stopSound(player, soundId);
+		}
+	}
+
+
+	/**
+	 * Get sound preferences for player
+	 *
+	 * @param playerUid the player uuid
+	 * @return the player's sound preferences, or the default preferences if none have been set
+	 */
+	default PlayerSoundPreferences getPreferences(final UUID playerUid)
+	{
+		return PlayerSoundPreferences.DEFAULT;
+	}
+
+
+	/**
+	 * Set sound preferences for player. The preferences are saved to disk in the background.
+	 *
+	 * @param playerUid   the player uuid
+	 * @param preferences the player's sound preferences
+	 * @throws UnsupportedOperationException if the implementation does not store preferences
+	 */
+	default void setPreferences(final UUID playerUid, final PlayerSoundPreferences preferences)
+	{
+		throw new UnsupportedOperationException("Sound preferences are not supported.");
+	}
+
+
+	/**
+	 * Save pending changes and release background resources. This is done when the plugin is disabled,
+	 * and may be called earlier, such as when the sound configuration is replaced.
+	 */
+	default void close()
+	{
+		// nothing to release by default
+	}
+
+}
@@ -17,6 +17,8 @@
 
 package com.winterhavenmc.library.soundconfig;
 
+import org.bukkit.SoundCategory;
+
 public sealed interface SoundEntry permits ValidSoundEntry, InvalidSoundEntry
 {
 	String key();
@@ -27,11 +29,23 @@ public sealed interface SoundEntry permits ValidSoundEntry, InvalidSoundEntry
 	                     String bukkitSoundName,
 	                     float volume,
 	                     float pitch)
+	{
+		return of(key, enabled, playerOnly, bukkitSoundName, volume, pitch, SoundCategory.MASTER);
+	}
+
+	static SoundEntry of(String key,
+	                     boolean enabled,
+	                     boolean playerOnly,
+	                     String bukkitSoundName,
+	                     float volume,
+	                     float pitch,
+	                     SoundCategory category)
 	{
 		if (key == null) return new InvalidSoundEntry("ø", "The key was null.");
 		else if (key.isBlank()) return new InvalidSoundEntry("BLANK", "The key was blank.");
 		else if (bukkitSoundName == null) return new InvalidSoundEntry(key, "The sound name was null.");
 		else if (bukkitSoundName.isBlank()) return new InvalidSoundEntry(key, "The sound name was blank.");
-		else return new ValidSoundEntry(key, enabled, playerOnly, bukkitSoundName, volume, pitch);
+		else if (category == null) return new InvalidSoundEntry(key, "The sound category was null.");
+		else return new ValidSoundEntry(key, enabled, playerOnly, bukkitSoundName, volume, pitch, category);
 	}
 }
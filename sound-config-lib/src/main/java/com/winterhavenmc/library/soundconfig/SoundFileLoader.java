@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+
+/**
+ * A class that loads the sound configuration from the sound file in the plugin data folder and from every
+ * yaml file in the {@code sounds} directory beside it. Files are read, parsed and compiled in parallel, and
+ * the compiled tables are merged in file order, with the sound file first and the directory files sorted by
+ * path, so the first definition of a duplicate key is always the same one.
+ * <p>
+ * The compiled table of each file is cached with its modification time, length and checksum. On reload, a
+ * file whose modification time and length have not changed is not read, and a file whose contents have the
+ * same checksum is not parsed. If no file has changed, the previous merged table is returned.
+ */
+final class SoundFileLoader
+{
+	static final String DIRECTORY_NAME = "sounds";
+
+	// a top level key, and the sound name of an entry, optionally quoted and followed by a comment
+	private static final Pattern KEY_LINE = Pattern.compile("(['\"]?)([^\\s'\"#:][^'\"#:]*)\\1\\s*:\\s*(#.*)?\\R?");
+	private static final Pattern SOUND_LINE = Pattern.compile("(\\s+sound\\s*:\\s*)(['\"]?)([^\\s'\"#]+)\\2(\\s*(#.*)?\\R?)");
+
+	private final File soundFile;
+	private final SoundConfigRegistry registry;
+	private final Logger logger;
+	private final Map<File, LoadedFile> loadedFiles = new ConcurrentHashMap<>();
+
+	// guarded by this
+	private List<File> lastFiles = List.of();
+	private SoundTable lastTable;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param soundFile the sound configuration file
+	 * @param registry  the shared registry used to intern names and resolve sounds
+	 * @param logger    the logger for reporting configuration errors
+	 */
+	SoundFileLoader(final File soundFile, final SoundConfigRegistry registry, final Logger logger)
+	{
+		this.soundFile = soundFile;
+		this.registry = registry;
+		this.logger = logger;
+	}
+
+
+	/**
+	 * Load the sound configuration files, parsing only files that have changed since the last load
+	 *
+	 * @return the merged sound table, the bindings of every file and the load statistics
+	 */
+	synchronized Result load()
+	{
+		List<File> files = files(soundFile, logger);
+		List<FileResult> fileResults = files.parallelStream().map(this::load).toList();
+
+		List<SoundTable> tables = new ArrayList<>(files.size());
+		List<String> sources = new ArrayList<>(files.size());
+		List<Map<?, ?>> bindings = new ArrayList<>();
+		int parsedCount = 0;
+		long readTime = 0;
+		long parseTime = 0;
+		long compileTime = 0;
+
+		for (int i = 0; i < files.size(); i++)
+		{
+			FileResult fileResult = fileResults.get(i);
+			tables.add(fileResult.loadedFile().table());
+			sources.add(sourceName(files.get(i)));
+			bindings.addAll(fileResult.loadedFile().bindings());
+			parsedCount += fileResult.parsed() ? 1 : 0;
+			readTime += fileResult.readTime();
+			parseTime += fileResult.parseTime();
+			compileTime += fileResult.compileTime();
+		}
+
+		// forget files that have been removed
+		loadedFiles.keySet().retainAll(files);
+
+		if (parsedCount > 0 || !files.equals(lastFiles) || lastTable == null)
+		{
+			long mergeStart = System.nanoTime();
+			lastTable = SoundTable.merge(tables, sources);
+			lastFiles = files;
+			compileTime += System.nanoTime() - mergeStart;
+		}
+
+		return new Result(lastTable, bindings, files.size(), parsedCount, readTime, parseTime, compileTime);
+	}
+
+
+	/**
+	 * Rewrite the sound names that were migrated when the sound configuration files were last loaded with
+	 * their current names. Only the sound name of a migrated entry is changed, so the comments and layout
+	 * of the files are kept. A file that has changed since it was loaded is not rewritten.
+	 *
+	 * @return the migrations that were written
+	 */
+	synchronized List<SoundNameMigration> rewriteMigrations()
+	{
+		List<SoundNameMigration> written = new ArrayList<>();
+
+		for (File file : lastFiles)
+		{
+			LoadedFile loadedFile = loadedFiles.get(file);
+			if (loadedFile == null || loadedFile.table().migrations().isEmpty())
+			{
+				continue;
+			}
+
+			try
+			{
+				byte[] contents = Files.readAllBytes(file.toPath());
+				CRC32 crc32 = new CRC32();
+				crc32.update(contents);
+				if (crc32.getValue() != loadedFile.checksum())
+				{
+					logger.warning("The sound names in '" + sourceName(file) + "' were not migrated because "
+							+ "the file has changed since it was loaded.");
+					continue;
+				}
+
+				Map<String, SoundNameMigration> migrations = new HashMap<>();
+				for (SoundNameMigration migration : loadedFile.table().migrations())
+				{
+					migrations.put(migration.key(), migration);
+				}
+
+				String rewritten = rewrite(new String(contents, StandardCharsets.UTF_8), migrations, written);
+				Files.writeString(file.toPath(), rewritten, StandardCharsets.UTF_8);
+			}
+			catch (IOException ioException)
+			{
+				logger.severe(ioException.getLocalizedMessage());
+			}
+		}
+
+		return written;
+	}
+
+
+	/**
+	 * Replace the sound names of migrated entries in the text of a sound configuration file
+	 *
+	 * @param contents   the text of the file
+	 * @param migrations the migrations of the file by key
+	 * @param written    the list that written migrations are added to
+	 * @return the rewritten text
+	 */
+	static String rewrite(final String contents,
+	                      final Map<String, SoundNameMigration> migrations,
+	                      final List<SoundNameMigration> written)
+	{
+		StringBuilder builder = new StringBuilder(contents.length());
+		SoundNameMigration migration = null;
+
+		for (String line : contents.split("(?<=\\n)", -1))
+		{
+			Matcher keyMatcher = KEY_LINE.matcher(line);
+			Matcher soundMatcher;
+			if (keyMatcher.matches())
+			{
+				migration = migrations.get(keyMatcher.group(2));
+			}
+			else if (migration != null && (soundMatcher = SOUND_LINE.matcher(line)).matches()
+					&& soundMatcher.group(3).equals(migration.oldName()))
+			{
+				line = soundMatcher.group(1) + soundMatcher.group(2) + migration.newName() + soundMatcher.group(2)
+						+ soundMatcher.group(4);
+				written.add(migration);
+				migration = null;
+			}
+			builder.append(line);
+		}
+
+		return builder.toString();
+	}
+
+
+	/**
+	 * Get the sound configuration files in load order. The sound file is always included, so that a missing
+	 * sound file is reported, unless it is missing and the sounds directory has files.
+	 *
+	 * @param soundFile the sound configuration file
+	 * @param logger    the logger for reporting errors
+	 * @return the files
+	 */
+	static List<File> files(final File soundFile, final Logger logger)
+	{
+		File soundDirectory = new File(soundFile.getParentFile(), DIRECTORY_NAME);
+		List<File> files = new ArrayList<>();
+
+		if (soundDirectory.isDirectory())
+		{
+			try (Stream<Path> paths = Files.walk(soundDirectory.toPath()))
+			{
+				paths.filter(path -> path.getFileName().toString().endsWith(".yml"))
+						.filter(Files::isRegularFile)
+						.sorted()
+						.forEach(path -> files.add(path.toFile()));
+			}
+			catch (IOException ioException)
+			{
+				logger.severe(ioException.getLocalizedMessage());
+			}
+		}
+
+		if (soundFile.exists() || files.isEmpty())
+		{
+			files.add(0, soundFile);
+		}
+
+		return List.copyOf(files);
+	}
+
+
+	private FileResult load(final File file)
+	{
+		long lastModified = file.lastModified();
+		long length = file.length();
+
+		LoadedFile loadedFile = loadedFiles.get(file);
+		if (loadedFile != null && loadedFile.lastModified() == lastModified && loadedFile.length() == length)
+		{
+			return new FileResult(loadedFile, false, 0, 0, 0);
+		}
+
+		long readStart = System.nanoTime();
+		byte[] contents;
+		try
+		{
+			contents = Files.readAllBytes(file.toPath());
+		}
+		catch (IOException ioException)
+		{
+			logger.severe(ioException.getLocalizedMessage());
+			contents = new byte[0];
+		}
+
+		CRC32 crc32 = new CRC32();
+		crc32.update(contents);
+		long checksum = crc32.getValue();
+		long parseStart = System.nanoTime();
+
+		// the file was touched, but its contents have not changed
+		if (loadedFile != null && loadedFile.checksum() == checksum)
+		{
+			loadedFile = new LoadedFile(lastModified, length, checksum, loadedFile.table(), loadedFile.bindings());
+			loadedFiles.put(file, loadedFile);
+			return new FileResult(loadedFile, false, parseStart - readStart, 0, 0);
+		}
+
+		YamlConfiguration soundsConfig;
+		try
+		{
+			soundsConfig = parse(contents);
+		}
+		catch (InvalidConfigurationException invalidConfigurationException)
+		{
+			throw new RuntimeException(invalidConfigurationException);
+		}
+
+		long compileStart = System.nanoTime();
+		loadedFile = new LoadedFile(lastModified, length, checksum,
+				SoundTable.compile(soundsConfig, registry, logger),
+				bindings(soundsConfig));
+		loadedFiles.put(file, loadedFile);
+
+		return new FileResult(loadedFile, true,
+				parseStart - readStart, compileStart - parseStart, System.nanoTime() - compileStart);
+	}
+
+
+	/**
+	 * Parse the contents of a sound configuration file
+	 *
+	 * @param contents the contents of the file
+	 * @return the sound configuration
+	 * @throws InvalidConfigurationException if the contents are not valid yaml
+	 */
+	static YamlConfiguration parse(final byte[] contents) throws InvalidConfigurationException
+	{
+		YamlConfiguration soundsConfig = new YamlConfiguration();
+		soundsConfig.loadFromString(new String(contents, StandardCharsets.UTF_8));
+		return soundsConfig;
+	}
+
+
+	/**
+	 * Get the entries of the bindings section of a sound configuration file
+	 *
+	 * @param soundsConfig the sound configuration
+	 * @return the entries, in file order
+	 */
+	static List<Map<?, ?>> bindings(final ConfigurationSection soundsConfig)
+	{
+		return List.copyOf(soundsConfig.getMapList(EventSoundBindings.SECTION));
+	}
+
+
+	private String sourceName(final File file)
+	{
+		return sourceName(soundFile, file);
+	}
+
+
+	/**
+	 * Get the name of a sound configuration file relative to the plugin data folder, for problem descriptions
+	 *
+	 * @param soundFile the sound configuration file
+	 * @param file      the sound configuration file or a file in the sounds directory
+	 * @return the name
+	 */
+	static String sourceName(final File soundFile, final File file)
+	{
+		if (file.equals(soundFile))
+		{
+			return file.getName();
+		}
+
+		Path soundDirectory = soundFile.toPath().resolveSibling(DIRECTORY_NAME);
+		return DIRECTORY_NAME + "/" + soundDirectory.relativize(file.toPath()).toString().replace(File.separatorChar, '/');
+	}
+
+
+	/**
+	 * The result of loading the sound configuration files
+	 *
+	 * @param table       the merged sound table
+	 * @param bindings    the entries of the bindings sections of every file, in file order
+	 * @param fileCount   the number of files loaded
+	 * @param parsedCount the number of files that were parsed because they changed
+	 * @param readTime    the total time spent reading files, in nanoseconds
+	 * @param parseTime   the total time spent parsing files, in nanoseconds
+	 * @param compileTime the total time spent compiling and merging tables, in nanoseconds
+	 */
+	record Result(SoundTable table,
+	              List<Map<?, ?>> bindings,
+	              int fileCount,
+	              int parsedCount,
+	              long readTime,
+	              long parseTime,
+	              long compileTime) { }
+
+
+	private record LoadedFile(long lastModified, long length, long checksum, SoundTable table, List<Map<?, ?>> bindings) { }
+
+
+	private record FileResult(LoadedFile loadedFile, boolean parsed, long readTime, long parseTime, long compileTime) { }
+
+}
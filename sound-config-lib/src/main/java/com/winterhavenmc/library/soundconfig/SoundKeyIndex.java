@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+
+/**
+ * An immutable index from sound configuration keys to table indexes, using a minimal perfect hash function
+ * that is found when the index is built. Every key hashes to its own slot, so a lookup is two hashes,
+ * two array reads and one string comparison, with no probing and no boxing.
+ * <p>
+ * The index uses hash and displace: keys are hashed into buckets of about four keys, and each bucket is
+ * given a small seed that places all of its keys in free slots of a table with one slot per key. Buckets
+ * are placed largest first, while the table is mostly empty, so the index is built in linear time and
+ * takes one slot per key and one seed per bucket.
+ * <p>
+ * The cached {@link String#hashCode()} of each key is used as the hash input. In the rare case that
+ * two configured keys share a hash code, a hash of the key characters is used instead.
+ */
+final class SoundKeyIndex
+{
+	private static final int KEYS_PER_BUCKET = 4;
+	private static final int MAX_SEED = 1 << 16;
+	private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+	private final String[] keys;
+	private final int[] seeds;
+	private final int[] slots;
+	private final boolean useStringHash;
+
+
+	private SoundKeyIndex(final String[] keys, final int[] seeds, final int[] slots, final boolean useStringHash)
+	{
+		this.keys = keys;
+		this.seeds = seeds;
+		this.slots = slots;
+		this.useStringHash = useStringHash;
+	}
+
+
+	/**
+	 * Build an index over a set of distinct keys
+	 *
+	 * @param keys the keys, in table index order
+	 * @return the index
+	 */
+	static SoundKeyIndex build(final String[] keys)
+	{
+		return build(keys, MAX_SEED);
+	}
+
+
+	/**
+	 * Build an index over a set of distinct keys, trying at most a given number of seeds for each bucket
+	 * before adding spare slots
+	 *
+	 * @param keys    the keys, in table index order
+	 * @param maxSeed the number of seeds to try for each bucket
+	 * @return the index
+	 */
+	static SoundKeyIndex build(final String[] keys, final int maxSeed)
+	{
+		boolean useStringHash = hasDuplicateHashes(keys, false);
+		if (useStringHash && hasDuplicateHashes(keys, true))
+		{
+			throw new IllegalStateException("A perfect hash could not be found for the sound configuration keys.");
+		}
+
+		int[] hashes = new int[keys.length];
+		for (int index = 0; index < keys.length; index++)
+		{
+			hashes[index] = hash(keys[index], useStringHash);
+		}
+
+		// a minimal table is almost always placed; if not, a few spare slots make it certain
+		int seedCount = Math.max(1, (keys.length + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+		for (int slotCount = Math.max(1, keys.length); ; slotCount += slotCount / 16 + 1)
+		{
+			int[] seeds = new int[seedCount];
+			int[] slots = new int[slotCount];
+			if (place(hashes, seeds, slots, maxSeed))
+			{
+				return new SoundKeyIndex(keys.clone(), seeds, slots, useStringHash);
+			}
+		}
+	}
+
+
+	/**
+	 * Get the table index of a key
+	 *
+	 * @param key the sound configuration key
+	 * @return the table index of the key, or -1 if the key is not in the index
+	 */
+	int indexOf(final String key)
+	{
+		if (key == null || keys.length == 0)
+		{
+			return -1;
+		}
+
+		int hash = hash(key, useStringHash);
+		int index = slots[slot(hash, seeds[bucket(hash, seeds.length)], slots.length)];
+
+		// a spare slot of a table that was not minimal is empty
+		return (index >= 0 && keys[index].equals(key)) ? index : -1;
+	}
+
+
+	/**
+	 * Get the key at a table index
+	 *
+	 * @param index the table index
+	 * @return the key
+	 */
+	String key(final int index)
+	{
+		return keys[index];
+	}
+
+
+	/**
+	 * Get the number of keys in the index
+	 *
+	 * @return the number of keys
+	 */
+	int size()
+	{
+		return keys.length;
+	}
+
+
+	/**
+	 * Get the number of slots in the hash table
+	 *
+	 * @return the number of slots
+	 */
+	int slotCount()
+	{
+		return slots.length;
+	}
+
+
+	/**
+	 * Get the number of bucket seeds
+	 *
+	 * @return the number of seeds
+	 */
+	int seedCount()
+	{
+		return seeds.length;
+	}
+
+
+	private static boolean place(final int[] hashes, final int[] seeds, final int[] slots, final int maxSeed)
+	{
+		Arrays.fill(slots, -1);
+
+		// group the keys by bucket, with counting sort
+		int[] bucketStart = new int[seeds.length + 1];
+		for (int hash : hashes)
+		{
+			bucketStart[bucket(hash, seeds.length) + 1]++;
+		}
+		for (int bucket = 0; bucket < seeds.length; bucket++)
+		{
+			bucketStart[bucket + 1] += bucketStart[bucket];
+		}
+		int[] members = new int[hashes.length];
+		int[] fill = Arrays.copyOf(bucketStart, seeds.length);
+		for (int index = 0; index < hashes.length; index++)
+		{
+			members[fill[bucket(hashes[index], seeds.length)]++] = index;
+		}
+
+		// place the largest buckets first, while most slots are free
+		Integer[] order = new Integer[seeds.length];
+		for (int bucket = 0; bucket < seeds.length; bucket++)
+		{
+			order[bucket] = bucket;
+		}
+		Arrays.sort(order, (a, b) -> (bucketStart[b + 1] - bucketStart[b]) - (bucketStart[a + 1] - bucketStart[a]));
+
+		int[] placed = new int[KEYS_PER_BUCKET * 4];
+		for (int bucket : order)
+		{
+			int start = bucketStart[bucket];
+			int size = bucketStart[bucket + 1] - start;
+			if (size == 0)
+			{
+				break;
+			}
+			if (size > placed.length)
+			{
+				placed = new int[size];
+			}
+
+			int seed = 0;
+			while (!fits(hashes, members, start, size, seed, slots, placed))
+			{
+				if (++seed == maxSeed)
+				{
+					return false;
+				}
+			}
+
+			seeds[bucket] = seed;
+			for (int i = 0; i < size; i++)
+			{
+				slots[placed[i]] = members[start + i];
+			}
+		}
+
+		return true;
+	}
+
+
+	private static boolean fits(final int[] hashes,
+	                            final int[] members,
+	                            final int start,
+	                            final int size,
+	                            final int seed,
+	                            final int[] slots,
+	                            final int[] placed)
+	{
+		for (int i = 0; i < size; i++)
+		{
+			int slot = slot(hashes[members[start + i]], seed, slots.length);
+			if (slots[slot] != -1)
+			{
+				return false;
+			}
+			for (int j = 0; j < i; j++)
+			{
+				if (placed[j] == slot)
+				{
+					return false;
+				}
+			}
+			placed[i] = slot;
+		}
+		return true;
+	}
+
+
+	private static boolean hasDuplicateHashes(final String[] keys, final boolean useStringHash)
+	{
+		Set<Integer> hashes = new HashSet<>();
+		for (String key : keys)
+		{
+			if (!hashes.add(hash(key, useStringHash)))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	private static int hash(final String key, final boolean useStringHash)
+	{
+		if (!useStringHash)
+		{
+			return key.hashCode();
+		}
+
+		// FNV-1a over the key characters, to separate keys with equal string hash codes
+		int hash = 0x811C9DC5;
+		for (int i = 0; i < key.length(); i++)
+		{
+			hash = (hash ^ key.charAt(i)) * 0x01000193;
+		}
+		return hash;
+	}
+
+
+	private static int bucket(final int hash, final int bucketCount)
+	{
+		return reduce(mix(hash), bucketCount);
+	}
+
+
+	private static int slot(final int hash, final int seed, final int slotCount)
+	{
+		return reduce(mix(hash ^ mix(seed * GOLDEN_RATIO + GOLDEN_RATIO)), slotCount);
+	}
+
+
+	// the murmur3 finalizer, so that every bit of the input affects the high bits used by reduce
+	private static int mix(int hash)
+	{
+		hash ^= hash >>> 16;
+		hash *= 0x85EBCA6B;
+		hash ^= hash >>> 13;
+		hash *= 0xC2B2AE35;
+		hash ^= hash >>> 16;
+		return hash;
+	}
+
+
+	// map a hash to [0, range) with a multiply instead of a division
+	private static int reduce(final int hash, final int range)
+	{
+		return (int) (((hash & 0xFFFFFFFFL) * range) >>> 32);
+	}
+
+}
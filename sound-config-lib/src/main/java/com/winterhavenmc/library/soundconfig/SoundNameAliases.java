@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * A table of legacy sound names and the current names of the sounds, grouped by the Minecraft version
+ * that renamed them. The versions are applied in order when the table is built, so a name that was renamed
+ * more than once maps directly to its current name. The table is used only when a sound table is compiled,
+ * for sound names that are not in the sound registry, so playback never consults it.
+ */
+final class SoundNameAliases
+{
+	private static final List<Version> VERSIONS = List.of(
+			new Version("1.9", Map.ofEntries(
+					Map.entry("AMBIENCE_CAVE", "AMBIENT_CAVE"),
+					Map.entry("AMBIENCE_RAIN", "WEATHER_RAIN"),
+					Map.entry("AMBIENCE_THUNDER", "ENTITY_LIGHTNING_THUNDER"),
+					Map.entry("ANVIL_BREAK", "BLOCK_ANVIL_BREAK"),
+					Map.entry("ANVIL_LAND", "BLOCK_ANVIL_LAND"),
+					Map.entry("ANVIL_USE", "BLOCK_ANVIL_USE"),
+					Map.entry("ARROW_HIT", "ENTITY_ARROW_HIT"),
+					Map.entry("BURP", "ENTITY_PLAYER_BURP"),
+					Map.entry("CAT_MEOW", "ENTITY_CAT_AMBIENT"),
+					Map.entry("CHEST_CLOSE", "BLOCK_CHEST_CLOSE"),
+					Map.entry("CHEST_OPEN", "BLOCK_CHEST_OPEN"),
+					Map.entry("CLICK", "UI_BUTTON_CLICK"),
+					Map.entry("DOOR_CLOSE", "BLOCK_WOODEN_DOOR_CLOSE"),
+					Map.entry("DOOR_OPEN", "BLOCK_WOODEN_DOOR_OPEN"),
+					Map.entry("DRINK", "ENTITY_GENERIC_DRINK"),
+					Map.entry("EAT", "ENTITY_GENERIC_EAT"),
+					Map.entry("ENDERDRAGON_GROWL", "ENTITY_ENDERDRAGON_GROWL"),
+					Map.entry("ENDERMAN_TELEPORT", "ENTITY_ENDERMEN_TELEPORT"),
+					Map.entry("EXPLODE", "ENTITY_GENERIC_EXPLODE"),
+					Map.entry("FIRE", "BLOCK_FIRE_AMBIENT"),
+					Map.entry("FIREWORK_BLAST", "ENTITY_FIREWORK_BLAST"),
+					Map.entry("FIREWORK_LAUNCH", "ENTITY_FIREWORK_LAUNCH"),
+					Map.entry("FIZZ", "BLOCK_FIRE_EXTINGUISH"),
+					Map.entry("GHAST_FIREBALL", "ENTITY_GHAST_SHOOT"),
+					Map.entry("GLASS", "BLOCK_GLASS_BREAK"),
+					Map.entry("HURT_FLESH", "ENTITY_PLAYER_HURT"),
+					Map.entry("ITEM_BREAK", "ENTITY_ITEM_BREAK"),
+					Map.entry("ITEM_PICKUP", "ENTITY_ITEM_PICKUP"),
+					Map.entry("LEVEL_UP", "ENTITY_PLAYER_LEVELUP"),
+					Map.entry("NOTE_BASS", "BLOCK_NOTE_BASS"),
+					Map.entry("NOTE_BASS_DRUM", "BLOCK_NOTE_BASEDRUM"),
+					Map.entry("NOTE_PIANO", "BLOCK_NOTE_HARP"),
+					Map.entry("NOTE_PLING", "BLOCK_NOTE_PLING"),
+					Map.entry("NOTE_SNARE_DRUM", "BLOCK_NOTE_SNARE"),
+					Map.entry("NOTE_STICKS", "BLOCK_NOTE_HAT"),
+					Map.entry("ORB_PICKUP", "ENTITY_EXPERIENCE_ORB_PICKUP"),
+					Map.entry("PISTON_EXTEND", "BLOCK_PISTON_EXTEND"),
+					Map.entry("PISTON_RETRACT", "BLOCK_PISTON_CONTRACT"),
+					Map.entry("PORTAL_TRAVEL", "BLOCK_PORTAL_TRAVEL"),
+					Map.entry("SHOOT_ARROW", "ENTITY_ARROW_SHOOT"),
+					Map.entry("SPLASH", "ENTITY_GENERIC_SPLASH"),
+					Map.entry("STEP_GRASS", "BLOCK_GRASS_STEP"),
+					Map.entry("SUCCESSFUL_HIT", "ENTITY_ARROW_HIT_PLAYER"),
+					Map.entry("VILLAGER_HAGGLE", "ENTITY_VILLAGER_TRADING"),
+					Map.entry("VILLAGER_IDLE", "ENTITY_VILLAGER_AMBIENT"),
+					Map.entry("VILLAGER_NO", "ENTITY_VILLAGER_NO"),
+					Map.entry("VILLAGER_YES", "ENTITY_VILLAGER_YES"),
+					Map.entry("WITHER_SPAWN", "ENTITY_WITHER_SPAWN"),
+					Map.entry("ZOMBIE_WOOD", "ENTITY_ZOMBIE_ATTACK_DOOR_WOOD"))),
+			new Version("1.13", Map.ofEntries(
+					Map.entry("BLOCK_CLOTH_BREAK", "BLOCK_WOOL_BREAK"),
+					Map.entry("BLOCK_ENDERCHEST_CLOSE", "BLOCK_ENDER_CHEST_CLOSE"),
+					Map.entry("BLOCK_ENDERCHEST_OPEN", "BLOCK_ENDER_CHEST_OPEN"),
+					Map.entry("BLOCK_NOTE_BASEDRUM", "BLOCK_NOTE_BLOCK_BASEDRUM"),
+					Map.entry("BLOCK_NOTE_BASS", "BLOCK_NOTE_BLOCK_BASS"),
+					Map.entry("BLOCK_NOTE_BELL", "BLOCK_NOTE_BLOCK_BELL"),
+					Map.entry("BLOCK_NOTE_CHIME", "BLOCK_NOTE_BLOCK_CHIME"),
+					Map.entry("BLOCK_NOTE_FLUTE", "BLOCK_NOTE_BLOCK_FLUTE"),
+					Map.entry("BLOCK_NOTE_GUITAR", "BLOCK_NOTE_BLOCK_GUITAR"),
+					Map.entry("BLOCK_NOTE_HARP", "BLOCK_NOTE_BLOCK_HARP"),
+					Map.entry("BLOCK_NOTE_HAT", "BLOCK_NOTE_BLOCK_HAT"),
+					Map.entry("BLOCK_NOTE_PLING", "BLOCK_NOTE_BLOCK_PLING"),
+					Map.entry("BLOCK_NOTE_SNARE", "BLOCK_NOTE_BLOCK_SNARE"),
+					Map.entry("BLOCK_NOTE_XYLOPHONE", "BLOCK_NOTE_BLOCK_XYLOPHONE"),
+					Map.entry("BLOCK_SLIME_BREAK", "BLOCK_SLIME_BLOCK_BREAK"),
+					Map.entry("BLOCK_WOOD_BUTTON_CLICK_OFF", "BLOCK_WOODEN_BUTTON_CLICK_OFF"),
+					Map.entry("BLOCK_WOOD_BUTTON_CLICK_ON", "BLOCK_WOODEN_BUTTON_CLICK_ON"),
+					Map.entry("BLOCK_WOOD_DOOR_CLOSE", "BLOCK_WOODEN_DOOR_CLOSE"),
+					Map.entry("BLOCK_WOOD_DOOR_OPEN", "BLOCK_WOODEN_DOOR_OPEN"),
+					Map.entry("BLOCK_WOOD_PRESSUREPLATE_CLICK_OFF", "BLOCK_WOODEN_PRESSURE_PLATE_CLICK_OFF"),
+					Map.entry("BLOCK_WOOD_PRESSUREPLATE_CLICK_ON", "BLOCK_WOODEN_PRESSURE_PLATE_CLICK_ON"),
+					Map.entry("ENTITY_ARMORSTAND_PLACE", "ENTITY_ARMOR_STAND_PLACE"),
+					Map.entry("ENTITY_BOBBER_THROW", "ENTITY_FISHING_BOBBER_THROW"),
+					Map.entry("ENTITY_ENDERDRAGON_AMBIENT", "ENTITY_ENDER_DRAGON_AMBIENT"),
+					Map.entry("ENTITY_ENDERDRAGON_DEATH", "ENTITY_ENDER_DRAGON_DEATH"),
+					Map.entry("ENTITY_ENDERDRAGON_FIREBALL_EXPLODE", "ENTITY_DRAGON_FIREBALL_EXPLODE"),
+					Map.entry("ENTITY_ENDERDRAGON_FLAP", "ENTITY_ENDER_DRAGON_FLAP"),
+					Map.entry("ENTITY_ENDERDRAGON_GROWL", "ENTITY_ENDER_DRAGON_GROWL"),
+					Map.entry("ENTITY_ENDERDRAGON_HURT", "ENTITY_ENDER_DRAGON_HURT"),
+					Map.entry("ENTITY_ENDERDRAGON_SHOOT", "ENTITY_ENDER_DRAGON_SHOOT"),
+					Map.entry("ENTITY_ENDEREYE_LAUNCH", "ENTITY_ENDER_EYE_LAUNCH"),
+					Map.entry("ENTITY_ENDERMEN_AMBIENT", "ENTITY_ENDERMAN_AMBIENT"),
+					Map.entry("ENTITY_ENDERMEN_DEATH", "ENTITY_ENDERMAN_DEATH"),
+					Map.entry("ENTITY_ENDERMEN_HURT", "ENTITY_ENDERMAN_HURT"),
+					Map.entry("ENTITY_ENDERMEN_SCREAM", "ENTITY_ENDERMAN_SCREAM"),
+					Map.entry("ENTITY_ENDERMEN_STARE", "ENTITY_ENDERMAN_STARE"),
+					Map.entry("ENTITY_ENDERMEN_TELEPORT", "ENTITY_ENDERMAN_TELEPORT"),
+					Map.entry("ENTITY_ENDERPEARL_THROW", "ENTITY_ENDER_PEARL_THROW"),
+					Map.entry("ENTITY_FIREWORK_BLAST", "ENTITY_FIREWORK_ROCKET_BLAST"),
+					Map.entry("ENTITY_FIREWORK_LARGE_BLAST", "ENTITY_FIREWORK_ROCKET_LARGE_BLAST"),
+					Map.entry("ENTITY_FIREWORK_LAUNCH", "ENTITY_FIREWORK_ROCKET_LAUNCH"),
+					Map.entry("ENTITY_FIREWORK_TWINKLE", "ENTITY_FIREWORK_ROCKET_TWINKLE"),
+					Map.entry("ENTITY_IRONGOLEM_ATTACK", "ENTITY_IRON_GOLEM_ATTACK"),
+					Map.entry("ENTITY_ITEMFRAME_ADD_ITEM", "ENTITY_ITEM_FRAME_ADD_ITEM"),
+					Map.entry("ENTITY_LEASHKNOT_PLACE", "ENTITY_LEASH_KNOT_PLACE"),
+					Map.entry("ENTITY_LIGHTNING_IMPACT", "ENTITY_LIGHTNING_BOLT_IMPACT"),
+					Map.entry("ENTITY_LIGHTNING_THUNDER", "ENTITY_LIGHTNING_BOLT_THUNDER"),
+					Map.entry("ENTITY_MAGMACUBE_JUMP", "ENTITY_MAGMA_CUBE_JUMP"),
+					Map.entry("ENTITY_SNOWMAN_SHOOT", "ENTITY_SNOW_GOLEM_SHOOT"),
+					Map.entry("ENTITY_ZOMBIE_PIG_AMBIENT", "ENTITY_ZOMBIE_PIGMAN_AMBIENT"),
+					Map.entry("ENTITY_ZOMBIE_PIG_ANGRY", "ENTITY_ZOMBIE_PIGMAN_ANGRY"),
+					Map.entry("ENTITY_ZOMBIE_PIG_DEATH", "ENTITY_ZOMBIE_PIGMAN_DEATH"),
+					Map.entry("ENTITY_ZOMBIE_PIG_HURT", "ENTITY_ZOMBIE_PIGMAN_HURT"))),
+			new Version("1.14", Map.ofEntries(
+					Map.entry("ENTITY_VILLAGER_TRADING", "ENTITY_VILLAGER_TRADE"))),
+			new Version("1.16", Map.ofEntries(
+					Map.entry("ENTITY_ZOMBIE_PIGMAN_AMBIENT", "ENTITY_ZOMBIFIED_PIGLIN_AMBIENT"),
+					Map.entry("ENTITY_ZOMBIE_PIGMAN_ANGRY", "ENTITY_ZOMBIFIED_PIGLIN_ANGRY"),
+					Map.entry("ENTITY_ZOMBIE_PIGMAN_DEATH", "ENTITY_ZOMBIFIED_PIGLIN_DEATH"),
+					Map.entry("ENTITY_ZOMBIE_PIGMAN_HURT", "ENTITY_ZOMBIFIED_PIGLIN_HURT"))));
+
+	private static final Map<String, Alias> ALIASES = build();
+
+
+	private SoundNameAliases() { }
+
+
+	/**
+	 * Get the current name of a legacy sound name
+	 *
+	 * @param name the sound name
+	 * @return the current name and the version that last renamed it, or null if the name is not a legacy name
+	 */
+	static Alias lookup(final String name)
+	{
+		return name != null ? ALIASES.get(name.toUpperCase(Locale.ROOT)) : null;
+	}
+
+
+	private static Map<String, Alias> build()
+	{
+		Map<String, Alias> aliases = new HashMap<>();
+		for (Version version : VERSIONS)
+		{
+			// names renamed again by this version follow it to the new name
+			for (Map.Entry<String, Alias> entry : aliases.entrySet())
+			{
+				String renamed = version.renames().get(entry.getValue().name());
+				if (renamed != null)
+				{
+					entry.setValue(new Alias(renamed, version.name()));
+				}
+			}
+			for (Map.Entry<String, String> rename : version.renames().entrySet())
+			{
+				aliases.put(rename.getKey(), new Alias(rename.getValue(), version.name()));
+			}
+		}
+		return Map.copyOf(aliases);
+	}
+
+
+	/**
+	 * The current name of a legacy sound name
+	 *
+	 * @param name    the current sound name
+	 * @param version the Minecraft version that last renamed the sound
+	 */
+	record Alias(String name, String version) { }
+
+
+	private record Version(String name, Map<String, String> renames) { }
+
+}
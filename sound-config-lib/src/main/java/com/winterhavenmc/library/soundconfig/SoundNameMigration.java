@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+/**
+ * A legacy sound name in the sound configuration that was migrated to its current name when the configuration was loaded
+ * @param key {@code String} the sound configuration key of the entry
+ * @param oldName {@code String} the sound name in the sound configuration
+ * @param newName {@code String} the current name of the sound
+ * @param version {@code String} the Minecraft version in which the sound was last renamed
+ */
+public record SoundNameMigration(String key, String oldName, String newName, String version) { }
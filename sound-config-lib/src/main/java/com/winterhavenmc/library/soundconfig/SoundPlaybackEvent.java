@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import jdk.jfr.*;
+
+
+/**
+ * A flight recorder event for a sound playback that takes longer than the event threshold. The event is
+ * disabled by default, and playback checks {@link #isTypeEnabled()} before creating an event, so that
+ * nothing is allocated or timed unless a recording enables it.
+ */
+@Name("com.winterhavenmc.soundconfig.Playback")
+@Label("Sound Playback")
+@Description("A sound playback that took longer than the threshold")
+@Category("SoundConfigLib")
+@Enabled(false)
+@Threshold("1 ms")
+@StackTrace(false)
+final class SoundPlaybackEvent extends Event
+{
+	private static final EventType EVENT_TYPE = EventType.getEventType(SoundPlaybackEvent.class);
+
+	@Label("Plugin")
+	String plugin;
+
+	@Label("Key")
+	String key;
+
+	@Label("Target Count")
+	@Description("One for a sound played only to a player, the number of players in the world for other sounds, or zero if the sound was not played")
+	int targetCount;
+
+
+	/**
+	 * Test if the event is enabled in a running recording
+	 *
+	 * @return true if the event is enabled, false if not
+	 */
+	static boolean isTypeEnabled()
+	{
+		return EVENT_TYPE.isEnabled();
+	}
+}
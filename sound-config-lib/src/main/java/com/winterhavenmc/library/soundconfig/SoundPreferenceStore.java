@@ -0,0 +1,365 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.logging.Logger;
+
+
+/**
+ * A class that persists player sound preferences to a compact binary file. Records are appended
+ * on a background thread as preferences change, and the file is compacted in the background when
+ * superseded records outnumber live ones. All preferences are read into memory by a background
+ * task when the store is opened, so lookups on the main thread never touch the disk.
+ * <p>
+ * File layout: a header of magic number and format version, followed by records of
+ * {@code uuid (2 longs), muted word count (short), muted words (longs), scale count (byte), scales (floats)}.
+ * A later record for the same uuid supersedes an earlier one.
+ */
+final class SoundPreferenceStore
+{
+	private static final int MAGIC = 0x534E4450; // "SNDP"
+	private static final byte FORMAT_VERSION = 1;
+	private static final int COMPACTION_SLACK = 64;
+
+	private final File file;
+	private final Logger logger;
+	private final Map<UUID, PlayerSoundPreferences> preferences = new ConcurrentHashMap<>();
+	private final ExecutorService executor;
+	private final CompletableFuture<Void> loaded;
+
+	// guarded by this
+	private final Set<UUID> changedWhileLoading = new HashSet<>();
+	private boolean loading = true;
+
+	// only accessed from the executor thread
+	private int recordCount;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param file   the preference file
+	 * @param logger the logger for reporting errors
+	 */
+	SoundPreferenceStore(final File file, final Logger logger)
+	{
+		this.file = file;
+		this.logger = logger;
+		this.executor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "SoundConfigLib-Preferences");
+			thread.setDaemon(true);
+			return thread;
+		});
+		this.loaded = CompletableFuture.runAsync(this::readFile, executor);
+	}
+
+
+	/**
+	 * Get the preferences for a player
+	 *
+	 * @param playerUid the player uuid
+	 * @return the player's preferences, or the default preferences if none are stored
+	 */
+	PlayerSoundPreferences get(final UUID playerUid)
+	{
+		PlayerSoundPreferences result = preferences.get(playerUid);
+		return result != null ? result : PlayerSoundPreferences.DEFAULT;
+	}
+
+
+	/**
+	 * Set the preferences for a player, and append them to the preference file in the background
+	 *
+	 * @param playerUid   the player uuid
+	 * @param preferences the player's preferences
+	 */
+	void put(final UUID playerUid, final PlayerSoundPreferences preferences)
+	{
+		// the change and its record are ordered with other changes and with the merge of the stored records
+		synchronized (this)
+		{
+			if (loading)
+			{
+				changedWhileLoading.add(playerUid);
+			}
+
+			if (preferences.isDefault())
+			{
+				this.preferences.remove(playerUid);
+			}
+			else
+			{
+				this.preferences.put(playerUid, preferences);
+			}
+
+			try
+			{
+				executor.execute(() -> append(playerUid, preferences));
+			}
+			catch (RejectedExecutionException rejectedExecutionException)
+			{
+				logger.warning("Sound preferences could not be saved because the preference store is closed.");
+			}
+		}
+	}
+
+
+	/**
+	 * Get a future that completes when the preference file has been read
+	 *
+	 * @return the future
+	 */
+	CompletableFuture<Void> loaded()
+	{
+		return loaded;
+	}
+
+
+	/**
+	 * Finish pending writes and stop the background thread
+	 */
+	void close()
+	{
+		executor.shutdown();
+		try
+		{
+			if (!executor.awaitTermination(5, TimeUnit.SECONDS))
+			{
+				logger.warning("Timed out waiting for sound preferences to be saved.");
+			}
+		}
+		catch (InterruptedException interruptedException)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+
+	private void readFile()
+	{
+		Map<UUID, PlayerSoundPreferences> stored = new HashMap<>();
+		boolean replace = file.isFile() && !readRecords(stored);
+
+		// preferences set since the store was opened take precedence over stored records
+		synchronized (this)
+		{
+			for (Map.Entry<UUID, PlayerSoundPreferences> entry : stored.entrySet())
+			{
+				if (!changedWhileLoading.contains(entry.getKey()))
+				{
+					preferences.put(entry.getKey(), entry.getValue());
+				}
+			}
+			changedWhileLoading.clear();
+			loading = false;
+		}
+
+		if (replace || needsCompaction())
+		{
+			compact();
+		}
+	}
+
+
+	/**
+	 * Read the records of the preference file
+	 *
+	 * @param stored the map that the latest record of each player is put in
+	 * @return false if the file should be replaced because it is unrecognized or ends with a partial record
+	 */
+	private boolean readRecords(final Map<UUID, PlayerSoundPreferences> stored)
+	{
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+		{
+			if (in.readInt() != MAGIC || in.readByte() != FORMAT_VERSION)
+			{
+				logger.warning("The sound preference file '" + file.getName() + "' has an unrecognized format and will be replaced.");
+				return false;
+			}
+
+			while (true)
+			{
+				long mostSignificantBits;
+				try
+				{
+					mostSignificantBits = in.readLong();
+				}
+				catch (EOFException eofException)
+				{
+					break;
+				}
+
+				UUID playerUid;
+				PlayerSoundPreferences record;
+				try
+				{
+					playerUid = new UUID(mostSignificantBits, in.readLong());
+					record = readRecord(in);
+				}
+				catch (EOFException eofException)
+				{
+					// a partial record was left by an interrupted write
+					return false;
+				}
+
+				recordCount++;
+
+				// a later record supersedes an earlier one, and a default record clears it
+				if (record.isDefault())
+				{
+					stored.remove(playerUid);
+				}
+				else
+				{
+					stored.put(playerUid, record);
+				}
+			}
+		}
+		catch (IOException ioException)
+		{
+			logger.severe(ioException.getLocalizedMessage());
+		}
+
+		return true;
+	}
+
+
+	private void append(final UUID playerUid, final PlayerSoundPreferences record)
+	{
+		boolean newFile = !file.isFile();
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true))))
+		{
+			if (newFile)
+			{
+				writeHeader(out);
+			}
+			writeRecord(out, playerUid, record);
+			recordCount++;
+		}
+		catch (IOException ioException)
+		{
+			logger.severe(ioException.getLocalizedMessage());
+			return;
+		}
+
+		if (needsCompaction())
+		{
+			compact();
+		}
+	}
+
+
+	// superseded records outnumber live ones, with some slack so that a small file is not compacted on every write
+	private boolean needsCompaction()
+	{
+		return recordCount > 2 * preferences.size() + COMPACTION_SLACK;
+	}
+
+
+	private void compact()
+	{
+		File tempFile = new File(file.getPath() + ".tmp");
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))
+		{
+			writeHeader(out);
+			int count = 0;
+			for (Map.Entry<UUID, PlayerSoundPreferences> entry : preferences.entrySet())
+			{
+				writeRecord(out, entry.getKey(), entry.getValue());
+				count++;
+			}
+			recordCount = count;
+		}
+		catch (IOException ioException)
+		{
+			logger.severe(ioException.getLocalizedMessage());
+			return;
+		}
+
+		try
+		{
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException ioException)
+		{
+			logger.severe(ioException.getLocalizedMessage());
+		}
+	}
+
+
+	private static void writeHeader(final DataOutputStream out) throws IOException
+	{
+		out.writeInt(MAGIC);
+		out.writeByte(FORMAT_VERSION);
+	}
+
+
+	private static void writeRecord(final DataOutputStream out,
+	                                final UUID playerUid,
+	                                final PlayerSoundPreferences record) throws IOException
+	{
+		out.writeLong(playerUid.getMostSignificantBits());
+		out.writeLong(playerUid.getLeastSignificantBits());
+
+		long[] mutedBits = record.mutedBits();
+		out.writeShort(mutedBits.length);
+		for (long word : mutedBits)
+		{
+			out.writeLong(word);
+		}
+
+		float[] volumeScales = record.volumeScales();
+		out.writeByte(volumeScales.length);
+		for (float scale : volumeScales)
+		{
+			out.writeFloat(scale);
+		}
+	}
+
+
+	private static PlayerSoundPreferences readRecord(final DataInputStream in) throws IOException
+	{
+		long[] mutedBits = new long[in.readUnsignedShort()];
+		for (int i = 0; i < mutedBits.length; i++)
+		{
+			mutedBits[i] = in.readLong();
+		}
+
+		float[] volumeScales = new float[in.readUnsignedByte()];
+		for (int i = 0; i < volumeScales.length; i++)
+		{
+			volumeScales[i] = in.readFloat();
+		}
+
+		return mutedBits.length == 0 && volumeScales.length == 0
+				? PlayerSoundPreferences.DEFAULT
+				: new PlayerSoundPreferences(mutedBits, volumeScales);
+	}
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import jdk.jfr.*;
+
+
+/**
+ * A flight recorder event for loading or reloading a sound configuration. The event is disabled
+ * by default, and is recorded only when a recording enables it.
+ */
+@Name("com.winterhavenmc.soundconfig.Reload")
+@Label("Sound Configuration Reload")
+@Description("Loading and compiling the sound configuration files of a plugin")
+@Category("SoundConfigLib")
+@Enabled(false)
+@StackTrace(false)
+final class SoundReloadEvent extends Event
+{
+	@Label("Plugin")
+	String plugin;
+
+	@Label("File Count")
+	int fileCount;
+
+	@Label("Parsed File Count")
+	@Description("The number of files that were parsed because they changed since the last load")
+	int parsedFileCount;
+
+	@Label("Read Time")
+	@Timespan
+	long readTime;
+
+	@Label("Parse Time")
+	@Timespan
+	long parseTime;
+
+	@Label("Compile Time")
+	@Timespan
+	long compileTime;
+
+	@Label("Entry Count")
+	int entryCount;
+
+	@Label("Invalid Count")
+	int invalidCount;
+
+	@Label("Unresolved Count")
+	int unresolvedCount;
+}
@@ -0,0 +1,662 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Sound;
+import org.bukkit.SoundCategory;
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+
+/**
+ * An immutable table of sound entries compiled from the sound configuration when it is loaded.
+ * Each entry is assigned an index, and each group named by an entry is assigned a bit in a
+ * 64-bit group mask, so a group can be disabled by flipping a single bit. Sound names are
+ * resolved to bukkit sounds through the shared registry when the table is compiled.
+ * <p>
+ * Entries are stored as parallel arrays indexed by table index, with the enabled, player-only and
+ * valid flags and the sound category packed into one int, so playback reads only primitives and the
+ * resolved sound. Sound entry records are created only when an entry is requested through the API.
+ */
+final class SoundTable
+{
+	static final int MAX_GROUPS = Long.SIZE;
+
+	private static final int VALID = 1;
+	private static final int ENABLED = 1 << 1;
+	private static final int PLAYER_ONLY = 1 << 2;
+	private static final int CATEGORY_SHIFT = 8;
+	private static final SoundCategory[] CATEGORIES = SoundCategory.values();
+
+	private final SoundKeyIndex keyIndex;
+	private final int[] flags;
+	private final float[] volumes;
+	private final float[] pitches;
+	private final Sound[] sounds;
+	private final String[] soundNames;
+	private final String[] reasons;
+	private final long[] groupMasks;
+	private final long[] durations;
+	private final Map<String, Integer> groupBits;
+	private final List<SoundConfigProblem> problems;
+	private final List<SoundNameMigration> migrations;
+	private final int invalidCount;
+	private final int unresolvedCount;
+
+
+	private SoundTable(final SoundKeyIndex keyIndex,
+	                   final int[] flags,
+	                   final float[] volumes,
+	                   final float[] pitches,
+	                   final Sound[] sounds,
+	                   final String[] soundNames,
+	                   final String[] reasons,
+	                   final long[] groupMasks,
+	                   final long[] durations,
+	                   final Map<String, Integer> groupBits,
+	                   final List<SoundConfigProblem> problems,
+	                   final List<SoundNameMigration> migrations,
+	                   final int invalidCount,
+	                   final int unresolvedCount)
+	{
+		this.keyIndex = keyIndex;
+		this.flags = flags;
+		this.volumes = volumes;
+		this.pitches = pitches;
+		this.sounds = sounds;
+		this.soundNames = soundNames;
+		this.reasons = reasons;
+		this.groupMasks = groupMasks;
+		this.durations = durations;
+		this.groupBits = groupBits;
+		this.problems = problems;
+		this.migrations = migrations;
+		this.invalidCount = invalidCount;
+		this.unresolvedCount = unresolvedCount;
+	}
+
+
+	/**
+	 * Compile a sound table from a sound configuration
+	 *
+	 * @param config   the sound configuration
+	 * @param registry the shared registry used to intern names and resolve sounds
+	 * @param logger   the logger for reporting configuration errors
+	 * @return the compiled sound table
+	 */
+	static SoundTable compile(final ConfigurationSection config, final SoundConfigRegistry registry, final Logger logger)
+	{
+		return compile(config, registry, (key, warning) -> logger.warning(warning));
+	}
+
+
+	/**
+	 * Compile a sound table from a sound configuration, passing warnings for values that are replaced
+	 * with defaults or ignored to a consumer with the key of their entry
+	 *
+	 * @param config   the sound configuration
+	 * @param registry the shared registry used to intern names and resolve sounds
+	 * @param warnings the consumer of the key and description of each warning
+	 * @return the compiled sound table
+	 */
+	static SoundTable compile(final ConfigurationSection config,
+	                          final SoundConfigRegistry registry,
+	                          final BiConsumer<String, String> warnings)
+	{
+		Set<String> keys = new LinkedHashSet<>(config.getKeys(false));
+		keys.remove(EventSoundBindings.SECTION);
+
+		String[] tableKeys = new String[keys.size()];
+		int[] flags = new int[keys.size()];
+		float[] volumes = new float[keys.size()];
+		float[] pitches = new float[keys.size()];
+		Sound[] sounds = new Sound[keys.size()];
+		String[] soundNames = new String[keys.size()];
+		String[] reasons = new String[keys.size()];
+		long[] groupMasks = new long[keys.size()];
+		long[] durations = new long[keys.size()];
+		Map<String, Integer> groupBits = new LinkedHashMap<>();
+		List<SoundConfigProblem> problems = new ArrayList<>();
+		List<SoundNameMigration> migrations = new ArrayList<>();
+		int invalidCount = 0;
+		int unresolvedCount = 0;
+
+		int index = 0;
+		for (String configKey : keys)
+		{
+			String key = registry.intern(configKey);
+			String soundName = registry.intern(config.getString(key + ".sound"));
+			SoundNameMigration migration = migrate(key, soundName, registry);
+			if (migration != null)
+			{
+				migrations.add(migration);
+				soundName = migration.newName();
+			}
+			SoundEntry soundEntry = validate(config, key, soundName, warning -> warnings.accept(key, warning));
+
+			soundNames[index] = soundName;
+
+			if (soundEntry instanceof ValidSoundEntry validSoundEntry)
+			{
+				flags[index] = VALID
+						| (validSoundEntry.enabled() ? ENABLED : 0)
+						| (validSoundEntry.playerOnly() ? PLAYER_ONLY : 0)
+						| (validSoundEntry.category().ordinal() << CATEGORY_SHIFT);
+				volumes[index] = validSoundEntry.volume();
+				pitches[index] = validSoundEntry.pitch();
+				sounds[index] = registry.resolve(soundName);
+				if (sounds[index] == null)
+				{
+					unresolvedCount++;
+					problems.add(new SoundConfigProblem(null, key, SoundConfigProblemType.UNRESOLVED,
+							"the sound name '" + soundName + "' is not in the sound registry."));
+				}
+			}
+			else if (soundEntry instanceof InvalidSoundEntry invalidSoundEntry)
+			{
+				reasons[index] = invalidSoundEntry.reason();
+				invalidCount++;
+				problems.add(new SoundConfigProblem(null, key, SoundConfigProblemType.INVALID,
+						invalidSoundEntry.reason()));
+			}
+
+			for (String group : config.getStringList(key + ".groups"))
+			{
+				Integer bit = groupBits.get(group);
+				if (bit == null)
+				{
+					if (groupBits.size() == MAX_GROUPS)
+					{
+						problems.add(new SoundConfigProblem(null, key, SoundConfigProblemType.GROUP, "the sound group '"
+								+ group + "' was ignored because only " + MAX_GROUPS + " sound groups may be configured."));
+						continue;
+					}
+					bit = groupBits.size();
+					groupBits.put(group, bit);
+				}
+				groupMasks[index] |= 1L << bit;
+			}
+
+			double duration = config.getDouble(key + ".duration");
+			if (duration > 0)
+			{
+				durations[index] = (long) (duration * TimeUnit.SECONDS.toNanos(1));
+			}
+
+			tableKeys[index] = key;
+			index++;
+		}
+
+		return new SoundTable(SoundKeyIndex.build(tableKeys), flags, volumes, pitches, sounds, soundNames, reasons,
+				groupMasks, durations, Collections.unmodifiableMap(groupBits), List.copyOf(problems), List.copyOf(migrations),
+				invalidCount, unresolvedCount);
+	}
+
+
+	/**
+	 * Merge sound tables compiled from several sound configuration files into one table. If a key is in more
+	 * than one table, the entry from the first table is kept, and the others are reported as problems.
+	 * Problems of the merged tables are given the name of their file, and sound groups beyond the group
+	 * limit are reported as problems.
+	 *
+	 * @param tables  the tables, in the order their files are loaded
+	 * @param sources the name of the file each table was compiled from, used in problem descriptions
+	 * @return the merged table, or the only table if there is one
+	 */
+	static SoundTable merge(final List<SoundTable> tables, final List<String> sources)
+	{
+		if (tables.size() == 1)
+		{
+			return tables.get(0);
+		}
+
+		int capacity = 0;
+		for (SoundTable table : tables)
+		{
+			capacity += table.size();
+		}
+
+		Map<String, String> keySources = new HashMap<>();
+		String[] tableKeys = new String[capacity];
+		int[] flags = new int[capacity];
+		float[] volumes = new float[capacity];
+		float[] pitches = new float[capacity];
+		Sound[] sounds = new Sound[capacity];
+		String[] soundNames = new String[capacity];
+		String[] reasons = new String[capacity];
+		long[] groupMasks = new long[capacity];
+		long[] durations = new long[capacity];
+		Map<String, Integer> groupBits = new LinkedHashMap<>();
+		List<SoundConfigProblem> problems = new ArrayList<>();
+		List<SoundNameMigration> migrations = new ArrayList<>();
+		int invalidCount = 0;
+		int unresolvedCount = 0;
+
+		int index = 0;
+		for (int t = 0; t < tables.size(); t++)
+		{
+			SoundTable table = tables.get(t);
+			String source = sources.get(t);
+
+			for (SoundConfigProblem problem : table.problems)
+			{
+				problems.add(new SoundConfigProblem(source, problem.key(), problem.type(), problem.message()));
+			}
+			migrations.addAll(table.migrations);
+
+			// map the group bits of this table to bits of the merged table
+			long[] groupBitMap = new long[MAX_GROUPS];
+			for (Map.Entry<String, Integer> entry : table.groupBits.entrySet())
+			{
+				Integer bit = groupBits.get(entry.getKey());
+				if (bit == null && groupBits.size() < MAX_GROUPS)
+				{
+					bit = groupBits.size();
+					groupBits.put(entry.getKey(), bit);
+				}
+				else if (bit == null)
+				{
+					problems.add(new SoundConfigProblem(source, null, SoundConfigProblemType.GROUP, "the sound group '"
+							+ entry.getKey() + "' was ignored because only " + MAX_GROUPS + " sound groups may be configured."));
+					continue;
+				}
+				groupBitMap[entry.getValue()] = 1L << bit;
+			}
+
+			for (int i = 0; i < table.size(); i++)
+			{
+				String key = table.key(i);
+				String firstSource = keySources.putIfAbsent(key, source);
+				if (firstSource != null)
+				{
+					problems.add(new SoundConfigProblem(source, key, SoundConfigProblemType.DUPLICATE,
+							"the sound is already defined in '" + firstSource + "'."));
+					continue;
+				}
+
+				tableKeys[index] = key;
+				flags[index] = table.flags[i];
+				volumes[index] = table.volumes[i];
+				pitches[index] = table.pitches[i];
+				sounds[index] = table.sounds[i];
+				soundNames[index] = table.soundNames[i];
+				reasons[index] = table.reasons[i];
+				durations[index] = table.durations[i];
+				for (long mask = table.groupMasks[i]; mask != 0; mask &= mask - 1)
+				{
+					groupMasks[index] |= groupBitMap[Long.numberOfTrailingZeros(mask)];
+				}
+
+				if ((flags[index] & VALID) == 0)
+				{
+					invalidCount++;
+				}
+				else if (sounds[index] == null)
+				{
+					unresolvedCount++;
+				}
+				index++;
+			}
+		}
+
+		return new SoundTable(SoundKeyIndex.build(Arrays.copyOf(tableKeys, index)),
+				Arrays.copyOf(flags, index),
+				Arrays.copyOf(volumes, index),
+				Arrays.copyOf(pitches, index),
+				Arrays.copyOf(sounds, index),
+				Arrays.copyOf(soundNames, index),
+				Arrays.copyOf(reasons, index),
+				Arrays.copyOf(groupMasks, index),
+				Arrays.copyOf(durations, index),
+				Collections.unmodifiableMap(groupBits), List.copyOf(problems), List.copyOf(migrations),
+				invalidCount, unresolvedCount);
+	}
+
+
+	/**
+	 * Get the index of a sound entry
+	 *
+	 * @param key the sound configuration key
+	 * @return the index of the entry, or -1 if there is no entry for the key
+	 */
+	int indexOf(final String key)
+	{
+		return keyIndex.indexOf(key);
+	}
+
+
+	/**
+	 * Get the number of entries in the table
+	 *
+	 * @return the number of entries
+	 */
+	int size()
+	{
+		return keyIndex.size();
+	}
+
+
+	/**
+	 * Get the key of a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the sound configuration key
+	 */
+	String key(final int index)
+	{
+		return keyIndex.key(index);
+	}
+
+
+	/**
+	 * Get a sound entry by key
+	 *
+	 * @param key the sound configuration key
+	 * @return the sound entry, or an invalid sound entry if there is no entry for the key
+	 */
+	SoundEntry entry(final String key)
+	{
+		int index = indexOf(key);
+		return index != -1 ? entry(index) : SoundEntry.of(key, false, false, null, 0, 0);
+	}
+
+
+	/**
+	 * Get a sound entry by index. The entry is created from the table on each call.
+	 *
+	 * @param index the index of the entry
+	 * @return the sound entry
+	 */
+	SoundEntry entry(final int index)
+	{
+		if ((flags[index] & VALID) == 0)
+		{
+			return new InvalidSoundEntry(key(index), reasons[index]);
+		}
+
+		return new ValidSoundEntry(key(index),
+				(flags[index] & ENABLED) != 0,
+				playerOnly(index),
+				soundNames[index],
+				volumes[index],
+				pitches[index],
+				category(index));
+	}
+
+
+	/**
+	 * Test if a sound entry can be played, because it is valid and enabled and its sound name was resolved
+	 *
+	 * @param index the index of the entry
+	 * @return true if the entry can be played, false if not
+	 */
+	boolean isPlayable(final int index)
+	{
+		return (flags[index] & (VALID | ENABLED)) == (VALID | ENABLED) && sounds[index] != null;
+	}
+
+
+	/**
+	 * Test if a sound entry is played only to the player
+	 *
+	 * @param index the index of the entry
+	 * @return true if the sound is played only to the player, false if it is played in the world
+	 */
+	boolean playerOnly(final int index)
+	{
+		return (flags[index] & PLAYER_ONLY) != 0;
+	}
+
+
+	/**
+	 * Get the sound category of a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the sound category
+	 */
+	SoundCategory category(final int index)
+	{
+		return CATEGORIES[flags[index] >>> CATEGORY_SHIFT];
+	}
+
+
+	/**
+	 * Get the volume of a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the volume
+	 */
+	float volume(final int index)
+	{
+		return volumes[index];
+	}
+
+
+	/**
+	 * Get the pitch of a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the pitch
+	 */
+	float pitch(final int index)
+	{
+		return pitches[index];
+	}
+
+
+	/**
+	 * Get the bukkit sound for a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the bukkit sound, or null if the entry is invalid or its sound name is not in the sound registry
+	 */
+	Sound sound(final int index)
+	{
+		return sounds[index];
+	}
+
+
+	/**
+	 * Get the configured bukkit sound name of a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the bukkit sound name, or null if none is configured
+	 */
+	String soundName(final int index)
+	{
+		return soundNames[index];
+	}
+
+
+	/**
+	 * Get the mask of groups that contain a sound entry
+	 *
+	 * @param index the index of the entry
+	 * @return the group mask
+	 */
+	long groupMask(final int index)
+	{
+		return groupMasks[index];
+	}
+
+
+	/**
+	 * Get the bit mask for a group
+	 *
+	 * @param group the group name
+	 * @return the mask with the group's bit set, or zero if no entry names the group
+	 */
+	long groupBit(final String group)
+	{
+		Integer bit = groupBits.get(group);
+		return bit != null ? 1L << bit : 0L;
+	}
+
+
+	/**
+	 * Get the names of all groups
+	 *
+	 * @return an unmodifiable set of group names
+	 */
+	Set<String> groups()
+	{
+		return groupBits.keySet();
+	}
+
+
+	/**
+	 * Get metrics and validation results for the table
+	 *
+	 * @param pluginName the name of the plugin that owns the sound configuration
+	 * @return the report
+	 */
+	SoundConfigReport report(final String pluginName)
+	{
+		List<String> descriptions = new ArrayList<>(problems.size());
+		for (SoundConfigProblem problem : problems)
+		{
+			descriptions.add((problem.file() != null ? problem.file() + ": " : "")
+					+ (problem.key() != null ? problem.key() + ": " : "") + problem.message());
+		}
+		return new SoundConfigReport(pluginName, size(), invalidCount, unresolvedCount, groupBits.size(), descriptions);
+	}
+
+
+	/**
+	 * Get the invalid entries, unresolved sound names and duplicate keys found when the table was compiled.
+	 * The file of a problem is null if the table was compiled from one file and not merged.
+	 *
+	 * @return the problems, in file and entry order
+	 */
+	List<SoundConfigProblem> problems()
+	{
+		return problems;
+	}
+
+
+	/**
+	 * Get the configured duration of a sound, for sounds that are tracked while they play
+	 *
+	 * @param index the table index
+	 * @return the duration in nanoseconds, or zero if the sound is not tracked
+	 */
+	long duration(final int index)
+	{
+		return durations[index];
+	}
+
+
+	/**
+	 * Check if any sound in the table has a configured duration
+	 *
+	 * @return true if a sound is tracked while it plays
+	 */
+	boolean hasDurations()
+	{
+		for (long duration : durations)
+		{
+			if (duration > 0)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+
+	/**
+	 * Get the legacy sound names that were migrated to their current names when the table was compiled
+	 *
+	 * @return the migrations
+	 */
+	List<SoundNameMigration> migrations()
+	{
+		return migrations;
+	}
+
+
+	/**
+	 * Validate an entry of a sound configuration
+	 *
+	 * @param config    the sound configuration
+	 * @param key       the key of the entry
+	 * @param soundName the sound name of the entry, after migration
+	 * @param warnings  the consumer of warnings for values that are replaced with defaults
+	 * @return the valid or invalid sound entry
+	 */
+	static SoundEntry validate(final ConfigurationSection config,
+	                           final String key,
+	                           final String soundName,
+	                           final Consumer<String> warnings)
+	{
+		return SoundEntry.of(key,
+				config.getBoolean(key + ".enabled"),
+				config.getBoolean(key + ".player-only"),
+				soundName,
+				(float) config.getDouble(key + ".volume"),
+				(float) config.getDouble(key + ".pitch"),
+				parseCategory(key, config.getString(key + ".category"), warnings));
+	}
+
+
+	/**
+	 * Migrate a legacy sound name to its current name, if the name is not in the sound registry
+	 * and the current name is
+	 */
+	private static SoundNameMigration migrate(final String key, final String soundName, final SoundConfigRegistry registry)
+	{
+		if (soundName == null || registry.resolve(soundName) != null)
+		{
+			return null;
+		}
+
+		SoundNameAliases.Alias alias = SoundNameAliases.lookup(soundName);
+		if (alias == null || registry.resolve(alias.name()) == null)
+		{
+			return null;
+		}
+
+		return new SoundNameMigration(key, soundName, registry.intern(alias.name()), alias.version());
+	}
+
+
+	private static SoundCategory parseCategory(final String key, final String name, final Consumer<String> warnings)
+	{
+		if (name == null)
+		{
+			return SoundCategory.MASTER;
+		}
+
+		try
+		{
+			return SoundCategory.valueOf(name.trim().toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException illegalArgumentException)
+		{
+			warnings.accept("The sound category '" + name + "' for sound '" + key + "' is not valid. "
+					+ "The MASTER category will be used.");
+			return SoundCategory.MASTER;
+		}
+	}
+
+}
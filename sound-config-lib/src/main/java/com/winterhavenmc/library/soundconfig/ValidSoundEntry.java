@@ -17,6 +17,8 @@
 
 package com.winterhavenmc.library.soundconfig;
 
+import org.bukkit.SoundCategory;
+
 /**
  * A class that contains the key and fields of a sound entry in the sound configuration
  * @param key {@code String} the key for the sound entry
@@ -25,10 +27,26 @@ package com.winterhavenmc.library.soundconfig;
  * @param bukkitSoundName {@code String} the bukkit Sound constant name, formerly an enum but now contained in the bukkit registry
  * @param volume {@code float} the volume of playback for the sound entry
  * @param pitch {@code float} the pitch of playback for the sound entry
+ * @param category {@code SoundCategory} the client sound category, which selects the volume slider applied by the client
  */
 public record ValidSoundEntry(String key,
                               boolean enabled,
                               boolean playerOnly,
                               String bukkitSoundName,
                               float volume,
-                              float pitch) implements SoundEntry { }
+                              float pitch,
+                              SoundCategory category) implements SoundEntry
+{
+	/**
+	 * Create a sound entry in the master sound category
+	 */
+	public ValidSoundEntry(String key,
+	                       boolean enabled,
+	                       boolean playerOnly,
+	                       String bukkitSoundName,
+	                       float volume,
+	                       float pitch)
+	{
+		this(key, enabled, playerOnly, bukkitSoundName, volume, pitch, SoundCategory.MASTER);
+	}
+}
@@ -0,0 +1,978 @@
+/*
+ * Copyright (c) 2022-2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.bukkit.Location;
+import org.bukkit.Registry;
+import org.bukkit.SoundCategory;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * A class that implements SoundConfiguration interface
+ */
+public class YamlSoundConfiguration implements SoundConfiguration
+{
+	private final Plugin plugin;
+	static final int NO_ORDINAL = -1;
+
+	private final String soundFileName = "sounds.yml";
+	private final String preferenceFileName = "sound-preferences.dat";
+	private final SoundPreferenceStore preferenceStore;
+	private final SoundConfigRegistry registry;
+	private final SoundFileLoader soundFileLoader;
+	private final Set<String> disabledGroups = ConcurrentHashMap.newKeySet();
+	private final ActiveSoundTracker activeSounds;
+	private final Listener disableListener = new Listener() { };
+	private final ClassValue<SoundBinding> enumBindings = new ClassValue<>()
+	{
+		@Override
+		@SuppressWarnings("unchecked")
+		protected SoundBinding computeValue(final Class<?> type)
+		{
+			return bind((Class<? extends Enum<?>>) type);
+		}
+	};
+	private volatile PlaybackState playbackState;
+	private volatile PlaybackRecorder recorder;
+	private volatile SoundBinding muteBinding;
+	private volatile boolean listening;
+	private volatile SoundEffectsSetting soundEffects;
+
+	// guarded by this
+	private EventSoundBindings eventBindings;
+	private boolean closed;
+
+
+	/**
+	 * Class constructor
+	 *
+	 * @param plugin reference to plugin main class
+	 */
+	public YamlSoundConfiguration(final Plugin plugin)
+	{
+		this.plugin = plugin;
+		File soundFile = new File(plugin.getDataFolder(), soundFileName);
+		installDefaultSoundFile(soundFile);
+
+		this.registry = SoundConfigRegistry.getInstance();
+		this.soundFileLoader = new SoundFileLoader(soundFile, registry, plugin.getLogger());
+		Loaded loaded = load();
+		this.playbackState = new PlaybackState(loaded.table(), 0L);
+		this.activeSounds = new ActiveSoundTracker(plugin);
+		this.soundEffects = readSoundEffects();
+		logProblems();
+		this.registry.register(plugin, () -> soundTable().report(plugin.getName()));
+		this.preferenceStore = new SoundPreferenceStore(new File(plugin.getDataFolder(), preferenceFileName), plugin.getLogger());
+
+		// listeners are registered last, so that an event never reaches a partly constructed configuration
+		synchronized (this)
+		{
+			this.eventBindings = loaded.bindings();
+		}
+		registerListeners();
+	}
+
+
+	@Override
+	public Set<String> getKeys()
+	{
+		SoundTable table = soundTable();
+		Set<String> keys = new LinkedHashSet<>();
+		for (int index = 0; index < table.size(); index++)
+		{
+			keys.add(table.key(index));
+		}
+		return keys;
+	}
+
+
+	ValidSoundEntry getEntry(final Enum<?> soundId)
+	{
+		return (getSoundEntry(soundId) instanceof ValidSoundEntry validSoundEntry) ? validSoundEntry : null;
+	}
+
+
+	SoundEntry getSoundEntry(final Enum<?> soundId)
+	{
+		return soundTable().entry(soundId.name());
+	}
+
+
+	@Override
+	public boolean isValidBukkitSoundName(final String key)
+	{
+		return isRegistrySound(key);
+	}
+
+
+	public boolean isRegistrySound(final String name)
+	{
+		return Registry.SOUNDS.match(name) != null;
+	}
+
+
+	@Override
+	public boolean isValidSoundConfigKey(final String key)
+	{
+		return soundTable().indexOf(key) != -1;
+	}
+
+
+	/**
+	 * Get bukkit sound name for sound config file key
+	 *
+	 * @param key sound config file key
+	 * @return String - the bukkit sound name for key
+	 */
+	@Override
+	public String getBukkitSoundName(final String key)
+	{
+		SoundTable table = soundTable();
+		int index = table.indexOf(key);
+		return index != -1 ? table.soundName(index) : null;
+	}
+
+
+	/**
+	 * Load sound configuration from yaml file in plugin data folder
+	 */
+	@Override
+	public void reload()
+	{
+		// get File object for sound file
+		File soundFile = new File(plugin.getDataFolder().getPath(), soundFileName);
+		installDefaultSoundFile(soundFile);
+
+		Loaded loaded = load();
+		synchronized (this)
+		{
+			playbackState = new PlaybackState(loaded.table(), computeDisabledGroupMask(loaded.table()));
+
+			// the bindings are swapped under the lock, so that concurrent reloads cannot leave two sets registered
+			eventBindings.unregister();
+			eventBindings = loaded.bindings();
+			if (listening)
+			{
+				eventBindings.register(plugin);
+			}
+		}
+		registerListeners();
+		soundEffects = readSoundEffects();
+		logProblems();
+	}
+
+
+	/**
+	 * Register the event bindings, and a listener that closes the sound configuration when the plugin is
+	 * disabled, so that pending preference writes are finished and the background thread is stopped even if
+	 * the plugin never calls {@link #close()}. Listeners cannot be registered for a plugin that is not enabled,
+	 * such as when the sound configuration is created in the plugin constructor or {@code onLoad}, so
+	 * registration is tried again when a sound is played or the sound configuration is reloaded.
+	 */
+	private void registerListeners()
+	{
+		if (listening)
+		{
+			return;
+		}
+
+		synchronized (this)
+		{
+			if (!listening && !closed && plugin.isEnabled())
+			{
+				eventBindings.register(plugin);
+				plugin.getServer().getPluginManager().registerEvent(PluginDisableEvent.class, disableListener,
+						EventPriority.MONITOR, (listener, event) -> {
+							if (event instanceof PluginDisableEvent disableEvent && disableEvent.getPlugin() == plugin)
+							{
+								close();
+							}
+						}, plugin, false);
+				listening = true;
+			}
+		}
+	}
+
+
+	/**
+	 * Install the default sounds.yml from the plugin resource if the plugin has no sound configuration,
+	 * that is, neither a sound file nor a sounds directory. A plugin whose sounds are all in the sounds
+	 * directory does not get a default sound file that would be merged ahead of them.
+	 *
+	 * @param soundFile the sound configuration file
+	 */
+	private void installDefaultSoundFile(final File soundFile)
+	{
+		File soundDirectory = new File(soundFile.getParentFile(), SoundFileLoader.DIRECTORY_NAME);
+
+		// this is only wrapped in a conditional to prevent log message when file already exists
+		if (!soundFile.exists() && !soundDirectory.isDirectory() && plugin.getResource(soundFileName) != null)
+		{
+			plugin.saveResource(soundFileName, false);
+		}
+	}
+
+
+	/**
+	 * Load the sound configuration files and compile them into a sound table and event bindings. The parsed
+	 * configuration is only used to compile them, and is not retained. The read, parse and compile times
+	 * are recorded in a flight recorder event when a recording enables it.
+	 *
+	 * @return the compiled sound table and event bindings
+	 */
+	private Loaded load()
+	{
+		SoundReloadEvent event = new SoundReloadEvent();
+		event.begin();
+
+		SoundFileLoader.Result result = soundFileLoader.load();
+		long bindStart = System.nanoTime();
+		EventSoundBindings bindings = EventSoundBindings.compile(result.bindings(),
+				result.table(), this, plugin.getClass().getClassLoader(), plugin.getLogger());
+
+		event.end();
+		if (event.shouldCommit())
+		{
+			SoundConfigReport report = result.table().report(plugin.getName());
+			event.plugin = report.pluginName();
+			event.fileCount = result.fileCount();
+			event.parsedFileCount = result.parsedCount();
+			event.readTime = result.readTime();
+			event.parseTime = result.parseTime();
+			event.compileTime = result.compileTime() + System.nanoTime() - bindStart;
+			event.entryCount = report.entryCount();
+			event.invalidCount = report.invalidCount();
+			event.unresolvedCount = report.unresolvedCount();
+			event.commit();
+		}
+
+		return new Loaded(result.table(), bindings);
+	}
+
+
+	private record Loaded(SoundTable table, EventSoundBindings bindings) { }
+
+
+	/**
+	 * Play sound effect for player. The sound is anchored to the player, so it follows the player
+	 * on the client, and no location is fetched.
+	 *
+	 * @param player  the player to play sound
+	 * @param soundId the sound identifier enum member
+	 */
+	@Override
+	public void playSound(final Player player, final Enum<?> soundId)
+	{
+		if (player == null)
+		{
+			return;
+		}
+
+		SoundTable table = soundTable();
+		playSound(player, table, indexOf(table, soundId), soundId.ordinal());
+	}
+
+
+	/**
+	 * Play sound effect anchored to an entity, so that the sound follows the entity on the client.
+	 * If the entity is a player, the sound is played as for {@link #playSound(Player, Enum)}.
+	 *
+	 * @param entity  the entity at which to play sound
+	 * @param soundId the sound identifier enum member
+	 */
+	@Override
+	public void playSound(final Entity entity, final Enum<?> soundId)
+	{
+		if (entity instanceof Player player)
+		{
+			playSound(player, soundId);
+		}
+		else if (entity != null)
+		{
+			SoundTable table = soundTable();
+			playSound(entity, table, indexOf(table, soundId));
+		}
+	}
+
+
+	/**
+	 * Play sound effect for player
+	 *
+	 * @param player the player to play sound
+	 * @param key    the sound configuration key
+	 */
+	@Override
+	public void playSound(final Player player, final String key)
+	{
+		if (player == null)
+		{
+			return;
+		}
+
+		SoundTable table = soundTable();
+		playSound(player, table, table.indexOf(key), NO_ORDINAL);
+	}
+
+
+	/**
+	 * Play sound effect for location
+	 *
+	 * @param location the location at which to play sound
+	 * @param soundId  the sound identifier enum member
+	 */
+	@Override
+	public void playSound(final Location location, final Enum<?> soundId)
+	{
+		// if location is null, do nothing and return
+		if (location == null)
+		{
+			return;
+		}
+
+		SoundTable table = soundTable();
+		playSound(location, table, indexOf(table, soundId));
+	}
+
+
+	/**
+	 * Play sound effect for location
+	 *
+	 * @param location the location at which to play sound
+	 * @param key      the sound configuration key
+	 */
+	@Override
+	public void playSound(final Location location, final String key)
+	{
+		// if location is null, do nothing and return
+		if (location == null)
+		{
+			return;
+		}
+
+		SoundTable table = soundTable();
+		playSound(location, table, table.indexOf(key));
+	}
+
+
+	/**
+	 * Play sound effect for player by sound table index
+	 *
+	 * @param player  the player to play sound
+	 * @param table   the sound table that the index was looked up in
+	 * @param index   the sound table index, or -1 if the sound is not configured
+	 * @param ordinal the ordinal of the sound identifier enum member used for player mutes, or -1 if none
+	 */
+	void playSound(final Player player, final SoundTable table, final int index, final int ordinal)
+	{
+		registerListeners();
+
+		PlaybackRecorder playbackRecorder = recorder;
+		if (playbackRecorder != null)
+		{
+			playbackRecorder.record(table, index, PlaybackRecorder.TARGET_PLAYER, player);
+		}
+
+		if (SoundPlaybackEvent.isTypeEnabled())
+		{
+			SoundPlaybackEvent event = new SoundPlaybackEvent();
+			event.begin();
+			boolean played = play(player, table, index, ordinal);
+			commit(event, table, index, played, played && !table.playerOnly(index) ? player.getWorld() : null);
+		}
+		else
+		{
+			play(player, table, index, ordinal);
+		}
+	}
+
+
+	/**
+	 * Play sound effect for location by sound table index
+	 *
+	 * @param location the location at which to play sound
+	 * @param table    the sound table that the index was looked up in
+	 * @param index    the sound table index, or -1 if the sound is not configured
+	 */
+	void playSound(final Location location, final SoundTable table, final int index)
+	{
+		registerListeners();
+
+		PlaybackRecorder playbackRecorder = recorder;
+		if (playbackRecorder != null)
+		{
+			playbackRecorder.record(table, index, PlaybackRecorder.TARGET_LOCATION, location);
+		}
+
+		if (SoundPlaybackEvent.isTypeEnabled())
+		{
+			SoundPlaybackEvent event = new SoundPlaybackEvent();
+			event.begin();
+			boolean played = play(location, table, index);
+			commit(event, table, index, played, location.getWorld());
+		}
+		else
+		{
+			play(location, table, index);
+		}
+	}
+
+
+	/**
+	 * Play sound effect anchored to an entity by sound table index
+	 *
+	 * @param entity the entity at which to play sound
+	 * @param table  the sound table that the index was looked up in
+	 * @param index  the sound table index, or -1 if the sound is not configured
+	 */
+	void playSound(final Entity entity, final SoundTable table, final int index)
+	{
+		registerListeners();
+
+		PlaybackRecorder playbackRecorder = recorder;
+		if (playbackRecorder != null)
+		{
+			playbackRecorder.record(table, index, PlaybackRecorder.TARGET_ENTITY, entity);
+		}
+
+		if (SoundPlaybackEvent.isTypeEnabled())
+		{
+			SoundPlaybackEvent event = new SoundPlaybackEvent();
+			event.begin();
+			boolean played = play(entity, table, index);
+			commit(event, table, index, played, entity.getWorld());
+		}
+		else
+		{
+			play(entity, table, index);
+		}
+	}
+
+
+	private boolean play(final Player player, final SoundTable table, final int index, final int ordinal)
+	{
+		// if sound effects are configured false, do nothing and return
+		if (soundEffectsDisabled())
+		{
+			return false;
+		}
+
+		// if sound is not configured or is in a disabled group, do nothing and return
+		if (index == -1 || isGroupDisabled(table, index))
+		{
+			return false;
+		}
+
+		// sounds whose name could not be resolved were reported when the sound configuration was loaded
+		if (!table.isPlayable(index))
+		{
+			return false;
+		}
+
+		SoundCategory category = table.category(index);
+
+		// if sound is set player only, use player.playSound() with the player's preferences
+		if (table.playerOnly(index))
+		{
+			// if player has muted sound, do nothing and return
+			PlayerSoundPreferences preferences = preferenceStore.get(player.getUniqueId());
+			int muteOrdinal = (ordinal != NO_ORDINAL) ? ordinal : muteOrdinal(table, index);
+			if (muteOrdinal != NO_ORDINAL && preferences.isMuted(muteOrdinal))
+			{
+				return false;
+			}
+
+			float volume = table.volume(index) * preferences.getVolumeScale(category);
+			player.playSound(player, table.sound(index), category, volume, table.pitch(index));
+		}
+		// else use world.playSound() so other players in vicinity can hear, at the configured volume
+		else
+		{
+			player.getWorld().playSound(player, table.sound(index), category, table.volume(index), table.pitch(index));
+		}
+
+		// long sounds are tracked for the player they were played to, so they can be stopped
+		if (table.duration(index) > 0)
+		{
+			activeSounds.track(player, table.sound(index), category, table.duration(index));
+		}
+		return true;
+	}
+
+
+	private boolean play(final Location location, final SoundTable table, final int index)
+	{
+		// if sound effects are configured false, do nothing and return
+		if (soundEffectsDisabled())
+		{
+			return false;
+		}
+
+		// if sound is not configured or is in a disabled group, do nothing and return
+		if (index == -1 || isGroupDisabled(table, index))
+		{
+			return false;
+		}
+
+		// sounds whose name could not be resolved were reported when the sound configuration was loaded
+		if (!table.isPlayable(index) || location.getWorld() == null)
+		{
+			return false;
+		}
+
+		// use world.playSound() so other players in vicinity can hear
+		location.getWorld().playSound(location,
+				table.sound(index),
+				table.category(index),
+				table.volume(index),
+				table.pitch(index));
+		return true;
+	}
+
+
+	private boolean play(final Entity entity, final SoundTable table, final int index)
+	{
+		// if sound effects are configured false, do nothing and return
+		if (soundEffectsDisabled())
+		{
+			return false;
+		}
+
+		// if sound is not configured or is in a disabled group, do nothing and return
+		if (index == -1 || isGroupDisabled(table, index))
+		{
+			return false;
+		}
+
+		// sounds whose name could not be resolved were reported when the sound configuration was loaded
+		if (!table.isPlayable(index))
+		{
+			return false;
+		}
+
+		// use world.playSound() so players in vicinity of the entity can hear
+		entity.getWorld().playSound(entity,
+				table.sound(index),
+				table.category(index),
+				table.volume(index),
+				table.pitch(index));
+		return true;
+	}
+
+
+	/**
+	 * End a playback event, and commit it if the playback took longer than the event threshold
+	 *
+	 * @param event  the playback event
+	 * @param table  the sound table that the index was looked up in
+	 * @param index  the sound table index, or -1 if the sound is not configured
+	 * @param played true if the sound was played
+	 * @param world  the world the sound was played in, or null if it was played only to a player
+	 */
+	private void commit(final SoundPlaybackEvent event,
+	                    final SoundTable table,
+	                    final int index,
+	                    final boolean played,
+	                    final World world)
+	{
+		event.end();
+		if (event.shouldCommit())
+		{
+			event.plugin = plugin.getName();
+			event.key = index != -1 ? table.key(index) : null;
+			event.targetCount = !played ? 0 : world != null ? world.getPlayers().size() : 1;
+			event.commit();
+		}
+	}
+
+
+	/**
+	 * Get the sound table index of an enum member, through a binding of its enum class
+	 * that is created once for each class
+	 *
+	 * @param table   the sound table
+	 * @param soundId the sound identifier enum member
+	 * @return the sound table index, or -1 if the member is not in the sound configuration
+	 */
+	private int indexOf(final SoundTable table, final Enum<?> soundId)
+	{
+		return enumBindings.get(soundId.getDeclaringClass()).indexOf(table, soundId.ordinal());
+	}
+
+
+	/**
+	 * Log validation problems found when the sound configuration was compiled, so that
+	 * sounds that cannot be played are reported once at load instead of on every play
+	 */
+	private void logProblems()
+	{
+		for (String problem : soundTable().report(plugin.getName()).problems())
+		{
+			plugin.getLogger().warning("There is a problem in your sound configuration. " + problem);
+		}
+
+		int migrationCount = soundTable().migrations().size();
+		if (migrationCount > 0)
+		{
+			plugin.getLogger().info(migrationCount + " legacy sound names in your sound configuration were "
+					+ "migrated to their current names.");
+		}
+	}
+
+
+	@Override
+	public SoundBinding bind(final Class<? extends Enum<?>> enumClass)
+	{
+		SoundBinding binding = new SoundBinding(this, enumClass);
+
+		// the first enum bound is the sound identifier enum whose ordinals player mutes are stored by
+		if (muteBinding == null)
+		{
+			muteBinding = binding;
+		}
+		return binding;
+	}
+
+
+	/**
+	 * Get the ordinal used for player mutes of a sound that was played by key or by an event binding
+	 *
+	 * @param table the sound table that the index was looked up in
+	 * @param index the sound table index
+	 * @return the ordinal of the sound identifier enum member with the key of the index, or -1 if none
+	 */
+	private int muteOrdinal(final SoundTable table, final int index)
+	{
+		SoundBinding binding = muteBinding;
+		return (binding != null) ? binding.ordinalOf(table, index) : NO_ORDINAL;
+	}
+
+
+	SoundTable soundTable()
+	{
+		return playbackState.table();
+	}
+
+
+	/**
+	 * Get metrics and validation results for the loaded sound configuration
+	 *
+	 * @return the report
+	 */
+	public SoundConfigReport getReport()
+	{
+		return soundTable().report(plugin.getName());
+	}
+
+
+	/**
+	 * Get the legacy sound names in the loaded sound configuration that were migrated to their current names.
+	 * Legacy names are migrated once when the sound configuration is loaded, so they are played without a
+	 * lookup, but the files still contain the legacy names until {@link #rewriteSoundNames()} is called.
+	 *
+	 * @return the migrations
+	 */
+	public List<SoundNameMigration> getMigrations()
+	{
+		return soundTable().migrations();
+	}
+
+
+	/**
+	 * Rewrite the sound configuration files with the current names of migrated legacy sound names,
+	 * and reload the sound configuration. Comments and the layout of the files are kept.
+	 *
+	 * @return the migrations that were written to the files
+	 */
+	public List<SoundNameMigration> rewriteSoundNames()
+	{
+		List<SoundNameMigration> written = soundFileLoader.rewriteMigrations();
+		for (SoundNameMigration migration : written)
+		{
+			plugin.getLogger().info("The sound name '" + migration.oldName() + "' for '" + migration.key()
+					+ "' was renamed to '" + migration.newName() + "' in Minecraft " + migration.version() + ".");
+		}
+		if (!written.isEmpty())
+		{
+			reload();
+		}
+		return written;
+	}
+
+
+	/**
+	 * Stop a sound for a player, if it was played to the player and its configured duration has not ended.
+	 * Only sounds with a {@code duration} in the sound configuration are tracked while they play.
+	 *
+	 * @param player  the player
+	 * @param soundId the sound identifier enum member
+	 */
+	@Override
+	public void stopSound(final Player player, final Enum<?> soundId)
+	{
+		if (player == null)
+		{
+			return;
+		}
+
+		SoundTable table = soundTable();
+		int index = indexOf(table, soundId);
+		if (index != -1 && table.isPlayable(index))
+		{
+			activeSounds.stop(player, table.sound(index), table.category(index));
+		}
+	}
+
+
+	/**
+	 * Stop the tracked sounds in a category for a player, without stopping other sounds in the category
+	 *
+	 * @param player   the player
+	 * @param category the sound category
+	 */
+	@Override
+	public void stopCategory(final Player player, final SoundCategory category)
+	{
+		if (player != null && category != null)
+		{
+			activeSounds.stopCategory(player, category);
+		}
+	}
+
+
+	/**
+	 * Stop a sound for each player that it is playing for. The sound is looked up once for all players.
+	 *
+	 * @param players the players
+	 * @param soundId the sound identifier enum member
+	 */
+	@Override
+	public void stopAll(final Collection<? extends Player> players, final Enum<?> soundId)
+	{
+		SoundTable table = soundTable();
+		int index = indexOf(table, soundId);
+		if (index == -1 || !table.isPlayable(index))
+		{
+			return;
+		}
+
+		for (Player player : players)
+		{
+			activeSounds.stop(player, table.sound(index), table.category(index));
+		}
+	}
+
+
+	ActiveSoundTracker activeSounds()
+	{
+		return activeSounds;
+	}
+
+
+	@Override
+	public Set<String> getGroups()
+	{
+		return soundTable().groups();
+	}
+
+
+	@Override
+	public boolean isGroupEnabled(final String group)
+	{
+		return !disabledGroups.contains(group);
+	}
+
+
+	/**
+	 * Enable or disable all sounds in a group. Toggling a group flips a single bit in the mask
+	 * of disabled groups, and the setting is kept when the sound configuration is reloaded.
+	 *
+	 * @param group   the group name
+	 * @param enabled true to enable the sounds in the group, false to disable them
+	 */
+	@Override
+	public synchronized void setGroupEnabled(final String group, final boolean enabled)
+	{
+		PlaybackState state = playbackState;
+		long groupBit = state.table().groupBit(group);
+		if (enabled)
+		{
+			disabledGroups.remove(group);
+			playbackState = new PlaybackState(state.table(), state.disabledGroupMask() & ~groupBit);
+		}
+		else
+		{
+			disabledGroups.add(group);
+			playbackState = new PlaybackState(state.table(), state.disabledGroupMask() | groupBit);
+		}
+	}
+
+
+	@Override
+	public PlayerSoundPreferences getPreferences(final UUID playerUid)
+	{
+		return preferenceStore.get(playerUid);
+	}
+
+
+	@Override
+	public void setPreferences(final UUID playerUid, final PlayerSoundPreferences preferences)
+	{
+		preferenceStore.put(playerUid, preferences);
+	}
+
+
+	/**
+	 * Start recording every playback request to a trace file, replacing any recording in progress.
+	 * Requests are buffered in memory and written to the file in the background, and are timed in server ticks,
+	 * so the plugin must be enabled. A recorded trace can be read and replayed with {@link PlaybackTrace}.
+	 *
+	 * @param traceFile the trace file, which is replaced if it exists
+	 * @return true if recording started, false if the trace file could not be created
+	 */
+	public boolean startRecording(final File traceFile)
+	{
+		PlaybackRecorder playbackRecorder;
+		try
+		{
+			playbackRecorder = new PlaybackRecorder(traceFile, plugin);
+		}
+		catch (IOException ioException)
+		{
+			plugin.getLogger().severe(ioException.getLocalizedMessage());
+			return false;
+		}
+
+		stopRecording();
+		recorder = playbackRecorder;
+		return true;
+	}
+
+
+	/**
+	 * Stop recording playback requests, and finish writing the trace file
+	 */
+	public void stopRecording()
+	{
+		PlaybackRecorder playbackRecorder = recorder;
+		if (playbackRecorder != null)
+		{
+			recorder = null;
+			playbackRecorder.close();
+		}
+	}
+
+
+	@Override
+	public void close()
+	{
+		stopRecording();
+		synchronized (this)
+		{
+			closed = true;
+			eventBindings.unregister();
+			HandlerList.unregisterAll(disableListener);
+		}
+		activeSounds.unregister();
+		registry.unregister(plugin);
+		preferenceStore.close();
+	}
+
+
+	boolean isGroupDisabled(final SoundTable table, final int index)
+	{
+		// a table replaced by a concurrent reload has its own group bits, so its mask is computed again
+		PlaybackState state = playbackState;
+		long mask = (state.table() == table) ? state.disabledGroupMask() : computeDisabledGroupMask(table);
+		return (table.groupMask(index) & mask) != 0;
+	}
+
+
+	private long computeDisabledGroupMask(final SoundTable table)
+	{
+		long mask = 0L;
+		for (String group : disabledGroups)
+		{
+			mask |= table.groupBit(group);
+		}
+		return mask;
+	}
+
+
+	/**
+	 * Test if sound effects are disabled by the plugin's 'sound-effects' setting. The setting is read when the
+	 * sound configuration is loaded or reloaded, and when the plugin's configuration is reloaded.
+	 *
+	 * @return true if sound effects are disabled; false if not
+	 */
+	boolean soundEffectsDisabled()
+	{
+		// the plugin replaces its configuration object when it is reloaded, so a reload is seen as a new object
+		SoundEffectsSetting setting = soundEffects;
+		if (setting.config() != plugin.getConfig())
+		{
+			setting = readSoundEffects();
+			soundEffects = setting;
+		}
+		return !setting.enabled();
+	}
+
+
+	private SoundEffectsSetting readSoundEffects()
+	{
+		FileConfiguration config = plugin.getConfig();
+		return new SoundEffectsSetting(config, config.getBoolean("sound-effects"));
+	}
+
+
+	/**
+	 * The sound table and the mask of its disabled groups, which are published together,
+	 * so that playback never tests the group bits of one table against the mask of another
+	 *
+	 * @param table             the sound table
+	 * @param disabledGroupMask the group bits of the table that are disabled
+	 */
+	private record PlaybackState(SoundTable table, long disabledGroupMask) { }
+
+
+	/**
+	 * The plugin's 'sound-effects' setting and the configuration it was read from
+	 *
+	 * @param config  the plugin configuration
+	 * @param enabled the value of the setting
+	 */
+	private record SoundEffectsSetting(FileConfiguration config, boolean enabled) { }
+
+}
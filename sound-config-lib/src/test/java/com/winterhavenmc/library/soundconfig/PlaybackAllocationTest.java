@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import com.winterhavenmc.library.soundconfig.Server.MockServer;
+import com.winterhavenmc.library.soundconfig.sounds.SoundId;
+import org.bukkit.Location;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.SoundCategory;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * Tests that steady-state playback allocates nothing. The mock player and world allocate on every
+ * call, so the allocation of each playback loop is compared to a loop that makes only the same calls
+ * on the mocks.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlaybackAllocationTest
+{
+	private static final int WARMUP_ITERATIONS = 20_000;
+	private static final int ITERATIONS = 200_000;
+	private static final int ROUNDS = 7;
+	private static final double MAX_BYTES_PER_CALL = 0.1;
+
+	private final com.sun.management.ThreadMXBean threadMXBean =
+			(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	private final Plugin plugin = mock(Plugin.class, withSettings().stubOnly());
+	private final Player player = mock(Player.class, withSettings().stubOnly());
+	private final World world = mock(World.class, withSettings().stubOnly());
+	private final Location location = new Location(world, 0.0, 0.0, 0.0);
+	private final UUID playerUid = new UUID(0, 1);
+
+	private YamlSoundConfiguration soundConfiguration;
+	private Sound sound;
+
+
+	@BeforeAll
+	void setUp() throws IOException, InvalidConfigurationException
+	{
+		Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "thread allocation is not measurable");
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		MockServer.setup();
+
+		File dataDirectory = Files.createTempDirectory("PluginData").toFile();
+		dataDirectory.deleteOnExit();
+		try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("sounds.yml"))
+		{
+			assertNotNull(resource);
+			Files.copy(resource, new File(dataDirectory, "sounds.yml").toPath());
+		}
+
+		FileConfiguration configuration = new YamlConfiguration();
+		configuration.loadFromString("sound-effects: true");
+
+		when(plugin.getLogger()).thenReturn(Logger.getLogger("Mock Plugin"));
+		when(plugin.getServer()).thenReturn(MockServer.getInstance());
+		when(plugin.getConfig()).thenReturn(configuration);
+		when(plugin.getDataFolder()).thenReturn(dataDirectory);
+		when(plugin.isEnabled()).thenReturn(true);
+
+		when(player.getUniqueId()).thenReturn(playerUid);
+		when(player.getWorld()).thenReturn(world);
+		when(world.getName()).thenReturn("world");
+		when(world.getUID()).thenReturn(new UUID(1, 0));
+
+		soundConfiguration = new YamlSoundConfiguration(plugin);
+		sound = Registry.SOUNDS.match("ENTITY_VILLAGER_NO");
+	}
+
+
+	@AfterAll
+	void tearDown()
+	{
+		if (soundConfiguration != null)
+		{
+			soundConfiguration.close();
+		}
+	}
+
+
+	@Test
+	void playSound_player_does_not_allocate()
+	{
+		assertNoAllocation(
+				() -> soundConfiguration.playSound(player, SoundId.ENABLED_SOUND),
+				() -> {
+					plugin.getConfig();
+					player.getUniqueId();
+					player.playSound(player, sound, SoundCategory.NEUTRAL, 1.0f, 2.0f);
+				});
+	}
+
+
+	@Test
+	void playSound_world_does_not_allocate()
+	{
+		assertNoAllocation(
+				() -> soundConfiguration.playSound(player, SoundId.WORLD_SOUND),
+				() -> {
+					plugin.getConfig();
+					player.getWorld().playSound(player, sound, SoundCategory.MASTER, 1.0f, 1.0f);
+				});
+	}
+
+
+	@Test
+	void playSound_location_does_not_allocate()
+	{
+		assertNoAllocation(
+				() -> soundConfiguration.playSound(location, SoundId.WORLD_SOUND),
+				() -> {
+					plugin.getConfig();
+					world.playSound(location, sound, SoundCategory.MASTER, 1.0f, 1.0f);
+				});
+	}
+
+
+	@Test
+	void playSound_key_does_not_allocate()
+	{
+		assertNoAllocation(
+				() -> soundConfiguration.playSound(location, "WORLD_SOUND"),
+				() -> {
+					plugin.getConfig();
+					world.playSound(location, sound, SoundCategory.MASTER, 1.0f, 1.0f);
+				});
+	}
+
+
+	@Test
+	void playSound_recording_does_not_allocate() throws IOException
+	{
+		File traceFile = Files.createTempFile("sounds", ".trace").toFile();
+		traceFile.deleteOnExit();
+		assertTrue(soundConfiguration.startRecording(traceFile));
+		try
+		{
+			assertNoAllocation(
+					() -> {
+						soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+						soundConfiguration.playSound(location, SoundId.WORLD_SOUND);
+					},
+					() -> {
+						plugin.getConfig();
+						plugin.getConfig();
+						player.getLocation(location);
+						world.getUID();
+						player.getUniqueId();
+						player.playSound(player, sound, SoundCategory.NEUTRAL, 1.0f, 2.0f);
+						world.playSound(location, sound, SoundCategory.MASTER, 1.0f, 1.0f);
+					});
+		}
+		finally
+		{
+			soundConfiguration.stopRecording();
+		}
+	}
+
+
+	@Test
+	void playSound_disabled_does_not_allocate()
+	{
+		assertNoAllocation(
+				() -> soundConfiguration.playSound(location, SoundId.DISABLED_SOUND),
+				() -> plugin.getConfig());
+	}
+
+
+	private void assertNoAllocation(final Runnable playback, final Runnable mockCalls)
+	{
+		// warm up both loops so that measurements are taken from compiled code
+		measure(playback, WARMUP_ITERATIONS);
+		measure(mockCalls, WARMUP_ITERATIONS);
+
+		// take the median of each loop over several rounds, so that a compilation or a class load during
+		// one round is not counted, and a lucky round of one loop is not compared to an unlucky round of the other
+		long[] playbackBytes = new long[ROUNDS];
+		long[] mockCallBytes = new long[ROUNDS];
+		for (int round = 0; round < ROUNDS; round++)
+		{
+			playbackBytes[round] = measure(playback, ITERATIONS);
+			mockCallBytes[round] = measure(mockCalls, ITERATIONS);
+		}
+		double bytesPerCall = (double) (median(playbackBytes) - median(mockCallBytes)) / ITERATIONS;
+
+		assertTrue(bytesPerCall <= MAX_BYTES_PER_CALL,
+				"playback allocated " + bytesPerCall + " bytes per call in addition to the mock calls.");
+	}
+
+
+	private static long median(final long[] values)
+	{
+		long[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+
+
+	private long measure(final Runnable runnable, final int iterations)
+	{
+		long start = threadMXBean.getCurrentThreadAllocatedBytes();
+		for (int i = 0; i < iterations; i++)
+		{
+			runnable.run();
+		}
+		return threadMXBean.getCurrentThreadAllocatedBytes() - start;
+	}
+
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import com.winterhavenmc.library.soundconfig.Server.MockServer;
+import com.winterhavenmc.library.soundconfig.sounds.SoundId;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+
+/**
+ * A load harness that simulates many players across several worlds playing configured sounds at a target
+ * rate on a simulated server tick, while the sound file is rewritten and reloaded from another thread. It reports
+ * tick time percentiles, throughput, reload times and garbage collection activity.
+ * <p>
+ * The harness is tagged {@code load} and is excluded from the normal test run. Run it with
+ * {@code mvn test -Pload}, and set the simulation with system properties, for example
+ * {@code -Dload.players=5000 -Dload.worlds=8 -Dload.rate=200000 -Dload.ticks=400}.
+ * Times include the cost of the mock players and worlds that receive the sounds.
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PlaybackLoadTest {
+
+	private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+	private static final String[] SOUND_NAMES = { "ENTITY_VILLAGER_NO", "BLOCK_ANVIL_BREAK", "ENTITY_VILLAGER_YES", "UI_BUTTON_CLICK" };
+
+	// simulation settings
+	private final int playerCount = Integer.getInteger("load.players", 2000);
+	private final int worldCount = Integer.getInteger("load.worlds", 4);
+	private final int soundCount = Integer.getInteger("load.sounds", 256);
+	private final int playsPerSecond = Integer.getInteger("load.rate", 20_000);
+	private final int tickCount = Integer.getInteger("load.ticks", 200);
+	private final int reloadMillis = Integer.getInteger("load.reload-millis", 250);
+
+	private final Plugin plugin = mock(Plugin.class, withSettings().stubOnly());
+
+	private List<Player> players;
+	private String[] keys;
+	private File soundFile;
+	private String soundText;
+	private YamlSoundConfiguration soundConfiguration;
+
+
+	@BeforeAll
+	void setUp() throws IOException, InvalidConfigurationException {
+
+		MockServer.setup();
+		List<World> worlds = MockServer.createWorlds(worldCount);
+		players = MockServer.createPlayers(playerCount, worlds);
+
+		// install the test sounds.yml resource, followed by generated sound entries
+		File dataDirectory = Files.createTempDirectory("PluginData").toFile();
+		dataDirectory.deleteOnExit();
+		soundFile = new File(dataDirectory, "sounds.yml");
+		try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("sounds.yml")) {
+			assertNotNull(resource);
+			Files.copy(resource, soundFile.toPath());
+		}
+		keys = new String[soundCount];
+		StringBuilder builder = new StringBuilder("\n");
+		for (int i = 0; i < soundCount; i++) {
+			keys[i] = "LOAD_SOUND_" + i;
+			builder.append(keys[i]).append(":\n")
+					.append("  enabled: true\n")
+					.append("  player-only: ").append(i % 2 == 0).append('\n')
+					.append("  sound: ").append(SOUND_NAMES[i % SOUND_NAMES.length]).append('\n')
+					.append("  volume: 1\n")
+					.append("  pitch: ").append(1 + (i % 10) / 10.0).append('\n')
+					.append("  groups: [group_").append(i % 8).append("]\n");
+		}
+		Files.writeString(soundFile.toPath(), builder, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+		soundText = Files.readString(soundFile.toPath());
+
+		FileConfiguration configuration = new YamlConfiguration();
+		configuration.loadFromString("sound-effects: true");
+
+		Logger logger = Logger.getLogger("Mock Plugin");
+		logger.setLevel(Level.SEVERE);
+		when(plugin.getLogger()).thenReturn(logger);
+		when(plugin.getServer()).thenReturn(MockServer.getInstance());
+		when(plugin.getConfig()).thenReturn(configuration);
+		when(plugin.getDataFolder()).thenReturn(dataDirectory);
+
+		soundConfiguration = new YamlSoundConfiguration(plugin);
+	}
+
+
+	@AfterAll
+	void tearDown() {
+		if (soundConfiguration != null) {
+			soundConfiguration.close();
+		}
+	}
+
+
+	@Test
+	void playbackUnderLoadWithConcurrentReload() throws InterruptedException {
+
+		int playsPerTick = Math.max(1, playsPerSecond / 20);
+		SoundBinding binding = soundConfiguration.bind(SoundId.class);
+		int ordinal = SoundId.ENABLED_SOUND.ordinal();
+
+		// warm up without pacing, so that the measured ticks run compiled code
+		for (int tick = 0; tick < Math.min(tickCount, 50); tick++) {
+			runTick(tick, playsPerTick, binding, ordinal);
+		}
+
+		AtomicReference<Throwable> reloadFailure = new AtomicReference<>();
+		long[] reloadNanos = new long[1];
+		int[] reloadCount = new int[1];
+		int[] swapCount = new int[1];
+		Thread reloader = new Thread(() -> {
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+
+					// rewrite the sound file, so that every reload parses it and swaps the table; the length
+					// alternates, so that a rewrite within the file time resolution is not taken as unchanged
+					Files.writeString(soundFile.toPath(), soundText + (reloadCount[0] % 2 == 0 ? "# reload\n" : "# reload again\n"));
+					SoundTable table = soundConfiguration.soundTable();
+
+					long start = System.nanoTime();
+					soundConfiguration.reload();
+					reloadNanos[0] += System.nanoTime() - start;
+					reloadCount[0]++;
+					swapCount[0] += (soundConfiguration.soundTable() != table) ? 1 : 0;
+					Thread.sleep(reloadMillis);
+				}
+			}
+			catch (InterruptedException interruptedException) {
+				Thread.currentThread().interrupt();
+			}
+			catch (Throwable throwable) {
+				reloadFailure.set(throwable);
+			}
+		}, "SoundConfigLib-LoadReloader");
+
+		com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		long gcCountBefore = gcCount();
+		long gcMillisBefore = gcMillis();
+		long allocatedBefore = threadMXBean.getCurrentThreadAllocatedBytes();
+
+		reloader.start();
+
+		long[] tickNanos = new long[tickCount];
+		long wallStart = System.nanoTime();
+		long nextTick = wallStart;
+		for (int tick = 0; tick < tickCount; tick++) {
+			long start = System.nanoTime();
+			runTick(tick, playsPerTick, binding, ordinal);
+			tickNanos[tick] = System.nanoTime() - start;
+
+			// wait for the next tick, as the server would
+			nextTick += TICK_NANOS;
+			long wait = nextTick - System.nanoTime();
+			if (wait > 0) {
+				LockSupport.parkNanos(wait);
+			}
+		}
+		long wallNanos = System.nanoTime() - wallStart;
+
+		reloader.interrupt();
+		reloader.join();
+
+		long allocated = threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+		long gcCount = gcCount() - gcCountBefore;
+		long gcMillis = gcMillis() - gcMillisBefore;
+
+		long plays = (long) playsPerTick * tickCount;
+		long busyNanos = Arrays.stream(tickNanos).sum();
+		long[] sorted = tickNanos.clone();
+		Arrays.sort(sorted);
+
+		System.out.printf("Sound playback load: %d players, %d worlds, %d sounds, %d plays per tick, %d ticks%n",
+				playerCount, worldCount, soundCount + 3, playsPerTick, tickCount);
+		System.out.printf("  tick time (ms): p50 %.3f  p90 %.3f  p99 %.3f  max %.3f%n",
+				millis(percentile(sorted, 50)), millis(percentile(sorted, 90)),
+				millis(percentile(sorted, 99)), millis(sorted[sorted.length - 1]));
+		System.out.printf("  throughput: %,.0f plays/s while busy, %,.0f plays/s over %.1f s%n",
+				plays / (busyNanos / 1e9), plays / (wallNanos / 1e9), wallNanos / 1e9);
+		System.out.printf("  reloads: %d, %d tables swapped, mean %.3f ms%n",
+				reloadCount[0], swapCount[0], reloadCount[0] > 0 ? millis(reloadNanos[0] / reloadCount[0]) : 0.0);
+		System.out.printf("  gc: %d collections, %d ms; tick thread allocated %.1f bytes per play%n",
+				gcCount, gcMillis, (double) allocated / plays);
+
+		assertNull(reloadFailure.get(), "the sound configuration could not be reloaded during playback.");
+		assertEquals(reloadCount[0], swapCount[0], "every reload should swap the sound table.");
+	}
+
+
+	private void runTick(final int tick, final int playsPerTick, final SoundBinding binding, final int ordinal) {
+		int seed = tick * 0x9E3779B9 + 1;
+		for (int i = 0; i < playsPerTick; i++) {
+
+			// xorshift, so that choosing players and sounds does not allocate or contend
+			seed ^= seed << 13;
+			seed ^= seed >>> 17;
+			seed ^= seed << 5;
+			Player player = players.get((seed >>> 1) % players.size());
+			String key = keys[(seed >>> 8) % keys.length];
+
+			switch (i & 3) {
+				case 0 -> soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+				case 1 -> soundConfiguration.playSound(player, key);
+				case 2 -> soundConfiguration.playSound(player.getLocation(), key);
+				default -> binding.playSound(player, ordinal);
+			}
+		}
+	}
+
+
+	private static long percentile(final long[] sorted, final int percentile) {
+		int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+		return sorted[Math.max(0, rank - 1)];
+	}
+
+
+	private static double millis(final long nanos) {
+		return nanos / 1e6;
+	}
+
+
+	private static long gcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+		return count;
+	}
+
+
+	private static long gcMillis() {
+		long millis = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			millis += Math.max(0, bean.getCollectionTime());
+		}
+		return millis;
+	}
+
+}
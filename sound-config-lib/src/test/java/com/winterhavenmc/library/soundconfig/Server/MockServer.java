@@ -20,13 +20,20 @@ package com.winterhavenmc.library.soundconfig.Server;
 import com.google.common.base.Preconditions;
 import org.bukkit.*;
 import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.SimplePluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
@@ -45,6 +52,12 @@ public final class MockServer {
 		PluginManager pluginManager = new SimplePluginManager(instance, new SimpleCommandMap(instance));
 		when(instance.getPluginManager()).thenReturn(pluginManager);
 
+		// scheduled tasks are never run
+		BukkitScheduler scheduler = mock(withSettings().stubOnly());
+		BukkitTask task = mock(withSettings().stubOnly());
+		when(scheduler.runTaskTimer(any(Plugin.class), any(Runnable.class), anyLong(), anyLong())).thenReturn(task);
+		when(instance.getScheduler()).thenReturn(scheduler);
+
 		Logger logger = Logger.getLogger(MockServer.class.getCanonicalName());
 		when(instance.getLogger()).thenReturn(logger);
 
@@ -74,7 +87,10 @@ public final class MockServer {
 				// To get the correct class, we just use the field type.
 				try {
 					theClass = (Class<? extends Keyed>) aClass.getField(key.getKey().toUpperCase(Locale.ROOT).replace('.', '_')).getType();
-				} catch (ClassCastException | NoSuchFieldException e) {
+				} catch (NoSuchFieldException e) {
+					// like the server registry, an unknown key has no entry
+					return null;
+				} catch (ClassCastException e) {
 					throw new RuntimeException(e);
 				}
 
@@ -118,4 +134,45 @@ public final class MockServer {
 	public static Server getInstance() {
 		return instance;
 	}
+
+	/**
+	 * Create mock worlds, and make them the worlds of the mock server
+	 *
+	 * @param count the number of worlds
+	 * @return the mock worlds
+	 */
+	public static List<World> createWorlds(int count) {
+		List<World> worlds = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			World world = mock(World.class, withSettings().stubOnly());
+			when(world.getName()).thenReturn("world_" + i);
+			when(world.getUID()).thenReturn(new UUID(1, i));
+			worlds.add(world);
+		}
+		when(instance.getWorlds()).thenReturn(List.copyOf(worlds));
+		return worlds;
+	}
+
+	/**
+	 * Create mock players spread evenly over the given worlds, and make them the online players of the mock server
+	 *
+	 * @param count  the number of players
+	 * @param worlds the worlds to place players in
+	 * @return the mock players
+	 */
+	public static List<Player> createPlayers(int count, List<World> worlds) {
+		List<Player> players = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			World world = worlds.get(i % worlds.size());
+			Player player = mock(Player.class, withSettings().stubOnly());
+			when(player.getName()).thenReturn("player_" + i);
+			when(player.getUniqueId()).thenReturn(new UUID(0, i));
+			when(player.getWorld()).thenReturn(world);
+			when(player.getLocation()).thenReturn(new Location(world, (i * 16) % 4096, 64, (i * 16) / 4096 * 16));
+			when(player.isOnline()).thenReturn(true);
+			players.add(player);
+		}
+		doReturn(List.copyOf(players)).when(instance).getOnlinePlayers();
+		return players;
+	}
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class SoundConfigValidatorTest {
+
+	@TempDir
+	Path pluginsDirectory;
+
+	private Path soundNameFile;
+
+
+	@BeforeEach
+	void setUp() throws IOException {
+
+		// a plugin with the test sounds.yml resource, followed by a legacy name and an invalid entry
+		Path pluginA = Files.createDirectories(pluginsDirectory.resolve("PluginA"));
+		try (InputStream resource = Thread.currentThread().getContextClassLoader().getResourceAsStream("sounds.yml")) {
+			assertNotNull(resource);
+			Files.copy(resource, pluginA.resolve("sounds.yml"));
+		}
+		Files.writeString(pluginA.resolve("sounds.yml"), """
+
+				LEGACY_SOUND:
+				  enabled: true
+				  sound: CLICK
+				  category: LOUD
+				NO_NAME_SOUND:
+				  enabled: true
+				""", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+		// a plugin with a sounds directory that redefines a key and names an unknown sound
+		Path pluginB = Files.createDirectories(pluginsDirectory.resolve("PluginB").resolve("sounds"));
+		Files.writeString(pluginB.resolve("a.yml"), "CLICK_SOUND:\n  sound: ui.button.click\n");
+		Files.writeString(pluginB.resolve("b.yml"), "CLICK_SOUND:\n  sound: UI_BUTTON_CLICK\nNEW_SOUND:\n  sound: ENTITY_NEW_MOB\n");
+
+		// a plugin without a sound configuration
+		Files.createDirectories(pluginsDirectory.resolve("PluginC"));
+
+		soundNameFile = pluginsDirectory.resolve("sound-names.txt");
+		Files.writeString(soundNameFile, "# test sounds\nentity.villager.no\nminecraft:ui.button.click\nENTITY_VILLAGER_YES\n");
+	}
+
+
+	@Test
+	void validateTest() throws IOException {
+		SoundConfigValidator validator = new SoundConfigValidator(SoundConfigValidator.readSoundNames(soundNameFile));
+		List<SoundConfigValidator.Result> results = validator.validate(pluginsDirectory);
+		assertEquals(List.of("PluginA", "PluginB"), results.stream().map(SoundConfigValidator.Result::pluginName).toList());
+
+		SoundConfigValidator.Result pluginA = results.get(0);
+		assertEquals(5, pluginA.entryCount());
+		assertEquals(List.of(SoundConfigProblemType.CATEGORY, SoundConfigProblemType.LEGACY,
+						SoundConfigProblemType.INVALID),
+				pluginA.problems().stream().map(SoundConfigProblem::type).toList());
+		assertEquals(1, pluginA.errorCount());
+
+		SoundConfigValidator.Result pluginB = results.get(1);
+		assertEquals(List.of("sounds/a.yml", "sounds/b.yml"), pluginB.files());
+		assertEquals(2, pluginB.entryCount());
+		assertEquals(List.of(
+						new SoundConfigProblem("sounds/b.yml", "CLICK_SOUND", SoundConfigProblemType.DUPLICATE,
+								"the sound is already defined in 'sounds/a.yml'."),
+						new SoundConfigProblem("sounds/b.yml", "NEW_SOUND", SoundConfigProblemType.UNRESOLVED,
+								"the sound name 'ENTITY_NEW_MOB' is not in the sound registry.")),
+				pluginB.problems());
+	}
+
+
+	@Test
+	void bindingsTest() throws IOException {
+		Path pluginD = Files.createDirectories(pluginsDirectory.resolve("PluginD"));
+		Files.writeString(pluginD.resolve("sounds.yml"), """
+				CLICK_SOUND:
+				  sound: UI_BUTTON_CLICK
+				bindings:
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: CLICK_SOUND
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: CLICK_SOUND
+				    permision: example.sounds
+				  - event: java.lang.String
+				    sound: CLICK_SOUND
+				  - event: org.example.MissingEvent
+				    sound: CLICK_SOUND
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: MISSING_SOUND
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: CLICK_SOUND
+				    target: sky
+				""");
+
+		SoundConfigValidator validator = new SoundConfigValidator(SoundConfigValidator.readSoundNames(soundNameFile));
+		SoundConfigValidator.Result result = validator.validate("PluginD", pluginD.resolve("sounds.yml").toFile());
+		assertEquals(1, result.entryCount());
+		assertEquals(List.of(
+						new SoundConfigProblem("sounds.yml", "bindings[1]", SoundConfigProblemType.BINDING,
+								"A sound binding was ignored because it does not have both an event and a sound."),
+						new SoundConfigProblem("sounds.yml", "bindings[2]", SoundConfigProblemType.BINDING,
+								"The sound binding for event 'org.bukkit.event.block.BlockBreakEvent' was ignored because "
+										+ "'permision' is not a binding option."),
+						new SoundConfigProblem("sounds.yml", "bindings[3]", SoundConfigProblemType.BINDING,
+								"The sound binding for event 'java.lang.String' was ignored because it is not an event class."),
+						new SoundConfigProblem("sounds.yml", "bindings[4]", SoundConfigProblemType.BINDING,
+								"The sound binding for event 'org.example.MissingEvent' was ignored because it is not an event class."),
+						new SoundConfigProblem("sounds.yml", "bindings[5]", SoundConfigProblemType.BINDING,
+								"The sound binding for event 'org.bukkit.event.block.BlockBreakEvent' was ignored because "
+										+ "the sound 'MISSING_SOUND' is not in the sound configuration."),
+						new SoundConfigProblem("sounds.yml", "bindings[6]", SoundConfigProblemType.BINDING,
+								"The sound binding for event 'org.bukkit.event.block.BlockBreakEvent' was ignored because "
+										+ "the event has no 'sky' to play the sound at.")),
+				result.problems());
+	}
+
+
+	@Test
+	void groupLimitTest() throws IOException {
+
+		// the first file configures every group, so the group of the second file is over the limit when merged
+		Path pluginE = Files.createDirectories(pluginsDirectory.resolve("PluginE").resolve("sounds"));
+		StringBuilder groups = new StringBuilder("CLICK_SOUND:\n  sound: UI_BUTTON_CLICK\n  groups:\n");
+		for (int i = 0; i < SoundTable.MAX_GROUPS; i++) {
+			groups.append("    - group").append(i).append('\n');
+		}
+		Files.writeString(pluginE.resolve("a.yml"), groups);
+		Files.writeString(pluginE.resolve("b.yml"), "YES_SOUND:\n  sound: ENTITY_VILLAGER_YES\n  groups: [ extra ]\n");
+
+		SoundConfigValidator validator = new SoundConfigValidator(SoundConfigValidator.readSoundNames(soundNameFile));
+		SoundConfigValidator.Result result = validator.validate("PluginE", pluginE.resolveSibling("sounds.yml").toFile());
+		assertEquals(List.of(
+						new SoundConfigProblem("sounds/b.yml", null, SoundConfigProblemType.GROUP,
+								"the sound group 'extra' was ignored because only 64 sound groups may be configured.")),
+				result.problems());
+		assertEquals(0, result.errorCount());
+		assertTrue(validator.toJson(List.of(result)).contains("\"type\": \"group\", \"error\": false"));
+	}
+
+
+	@Test
+	void commandLineTest() throws IOException {
+		Path reportFile = pluginsDirectory.resolve("report.json");
+		ByteArrayOutputStream err = new ByteArrayOutputStream();
+		int status = SoundConfigValidator.run(new String[] { pluginsDirectory.toString(),
+				"--sounds", soundNameFile.toString(), "--output", reportFile.toString() }, System.out, new PrintStream(err));
+
+		assertEquals(1, status, "errors should give a non-zero exit status.");
+		String report = Files.readString(reportFile);
+		assertTrue(report.contains("\"soundNameCount\": 3,"));
+		assertTrue(report.contains("\"errorCount\": 3,"));
+		assertTrue(report.contains("\"warningCount\": 2,"));
+		assertTrue(report.contains("\"plugin\": \"PluginB\""));
+		assertTrue(report.contains("{ \"file\": \"sounds/b.yml\", \"key\": \"NEW_SOUND\", \"type\": \"unresolved\", \"error\": true, "
+				+ "\"message\": \"the sound name 'ENTITY_NEW_MOB' is not in the sound registry.\" }"));
+
+		assertEquals(2, SoundConfigValidator.run(new String[] { pluginsDirectory.toString() }, System.out, new PrintStream(err)));
+		assertTrue(err.toString().startsWith("usage:"));
+	}
+
+}
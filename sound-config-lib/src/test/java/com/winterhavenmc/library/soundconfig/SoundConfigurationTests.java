@@ -0,0 +1,870 @@
+/*
+ * Copyright (c) 2024-2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import com.winterhavenmc.library.soundconfig.Server.MockServer;
+import com.winterhavenmc.library.soundconfig.sounds.SoundId;
+import org.bukkit.*;
+
+import org.bukkit.block.Block;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+import org.bukkit.scheduler.BukkitTask;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.*;
+import org.mockito.ArgumentCaptor;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SoundConfigurationTests {
+
+	// resource as input stream
+	InputStream SOUNDS_RESOURCE;
+
+	// temporary plugin data directory for testing
+	File tempDataDirectory;
+
+	// real plugin configuration object
+	FileConfiguration configuration = new YamlConfiguration();
+
+	// mocks
+	Plugin plugin = mock(Plugin.class, "mockPlugin");
+	Player player = mock(Player.class, "mockPlayer");
+	World world = mock(World.class, "mockWorld");
+
+	// real location
+	Location location = new Location(world, 0.0, 0.0, 0.0);
+
+	// real uuid for player
+	private final static UUID playerUid = new UUID(0, 1);
+
+	// real uuid for world
+	private final static UUID worldUid = new UUID(1, 1);
+
+	// real sound configuration
+	private SoundConfiguration soundConfiguration;
+
+
+	@BeforeEach
+	public void setUp() throws IOException, InvalidConfigurationException {
+
+		// get sound.yml resource as a stream
+		SOUNDS_RESOURCE = Thread.currentThread().getContextClassLoader().getResourceAsStream("sounds.yml");
+
+		// create temporary data directory for mock plugin
+		tempDataDirectory = createTempDataDir();
+
+		// load real configuration from string
+		configuration.loadFromString("sound-effects: true");
+
+		// setup mock server
+		MockServer.setup();
+
+		// responses for mock plugin
+		when(plugin.getLogger()).thenReturn(Logger.getLogger("Mock Plugin"));
+		when(plugin.getServer()).thenReturn(MockServer.getInstance());
+		when(plugin.getConfig()).thenReturn(configuration);
+		when(plugin.getDataFolder()).thenReturn(tempDataDirectory);
+		when(plugin.getResource("sounds.yml")).thenReturn(SOUNDS_RESOURCE);
+		doAnswer(invocation -> {
+				installResource("sounds.yml");
+				return null;
+			}).when(plugin).saveResource("sounds.yml", false);
+
+		// responses for mock player
+		when(player.getName()).thenReturn("player_one");
+		when(player.getUniqueId()).thenReturn(playerUid);
+		when(player.getLocation()).thenReturn(location);
+
+		// responses for mock world
+		when(world.getName()).thenReturn("world");
+		when(world.getUID()).thenReturn(worldUid);
+
+		soundConfiguration = new YamlSoundConfiguration(plugin);
+	}
+
+
+	@AfterEach
+	public void tearDown() {
+		soundConfiguration.close();
+		soundConfiguration = null;
+		tempDataDirectory = null;
+	}
+
+	@Nested
+	class MockingSetupTests {
+
+		@Test
+		void MockPluginNotNull() {
+			assertNotNull(plugin);
+		}
+
+		@Test
+		void soundConfigNotNull() {
+			SoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+			assertNotNull(soundConfiguration);
+		}
+
+		@Test
+		void canAccessSoundResourceTest() {
+			assertNotNull(SOUNDS_RESOURCE, "the real 'sounds.yml' resource is null.");
+		}
+
+		@Test
+		void getResourceIsMockedTest() {
+			assertNotNull(plugin.getResource("sounds.yml"), "the mock 'sounds.yml' resource is null.");
+			verify(plugin, atLeast(1)).getResource(any(String.class));
+		}
+
+		@Test
+		void getSoundConfigFileKeysTest() {
+			String[] keys = soundKeyProvider();
+			assertNotNull(keys, "sound config keys test array is null");
+			assertTrue(keys.length > 0, "sound config keys test array is empty");
+			assertTrue(Arrays.asList(keys).contains("ENABLED_SOUND"),
+					"sound config keys test array is missing expected value");
+		}
+
+		@Test
+		void temporaryDataDirectoryExistsTest() {
+			assertTrue(tempDataDirectory.exists(), "the temporary data directory does not exist.");
+		}
+
+		@Test
+		void soundEffectsConfigMockedTest() {
+			assertTrue(configuration.getBoolean("sound-effects"), "the config setting 'sound-effects' returned false.");
+		}
+	}
+
+
+	@Test
+	void soundsResourceIsInstalledTest() {
+		assertTrue(new File(tempDataDirectory,"sounds.yml").isFile());
+	}
+
+	@Test
+	void getKeysTest() {
+		assertNotNull(soundConfiguration.getKeys(), "the collection returned is null.");
+		assertFalse(soundConfiguration.getKeys().isEmpty(), "the collection returned is empty.");
+		assertTrue(soundConfiguration.getKeys().containsAll(Arrays.asList(soundKeyProvider())),
+				"not all keys returned by soundKeyProvider are in the collection returned.");
+	}
+
+	@Test
+	void getSoundConfigKeysTest() {
+		Collection<String> configKeys = soundConfiguration.getKeys();
+		assertFalse(configKeys.isEmpty(), "getSoundConfigKeys() returned an empty collection.");
+		assertEquals(3, configKeys.size(),
+				"There should have been 3 keys returned, but there were " + configKeys.size() + ".");
+	}
+
+	@Disabled
+	@Test
+	void isValidBukkitSoundNameTest() {
+		assertTrue(soundConfiguration.isValidBukkitSoundName("BLOCK_ANVIL_BREAK"));
+		assertFalse(soundConfiguration.isValidBukkitSoundName("invalid_name"));
+	}
+
+	@Disabled
+	@Test
+	void isRegistrySoundTest() {
+		YamlSoundConfiguration yamlSoundConfiguration = new YamlSoundConfiguration(plugin);
+		assertTrue(yamlSoundConfiguration.isRegistrySound("BLOCK_ANVIL_BREAK"));
+		assertFalse(yamlSoundConfiguration.isRegistrySound("invalid_name"));
+	}
+
+	@Test
+	void isValidSoundConfigKeyTest() {
+		assertTrue(soundConfiguration.isValidSoundConfigKey("ENABLED_SOUND"));
+		assertFalse(soundConfiguration.isValidSoundConfigKey("invalid_key"));
+	}
+
+	@Test
+	void getBukkitSoundNameTest() {
+		assertEquals("ENTITY_VILLAGER_NO", soundConfiguration.getBukkitSoundName("ENABLED_SOUND"),
+				"the returned bukkit sound name does not match the expected result string");
+		assertNotEquals("not_a_match", soundConfiguration.getBukkitSoundName("ENABLED_SOUND"),
+				"the returned bukkit sound name matches an invalid name");
+		assertNull(soundConfiguration.getBukkitSoundName("invalid_key"),
+				"an invalid key returned a non-null value");
+	}
+
+	@Test
+	void reloadTest() {
+		soundConfiguration.reload();
+		assertNotNull(soundConfiguration, "soundConfig is null after reload.");
+		assertTrue(soundConfiguration.isValidSoundConfigKey("ENABLED_SOUND"),
+				"expected configuration key could not be found after reloading configuration.");
+	}
+
+	@Test
+	void getEntryTest() {
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		ValidSoundEntry validSoundEntry = soundConfiguration.getEntry(SoundId.ENABLED_SOUND);
+		assertEquals("ENABLED_SOUND", validSoundEntry.key());
+		assertTrue(validSoundEntry.enabled());
+		assertTrue(validSoundEntry.playerOnly());
+		assertEquals("ENTITY_VILLAGER_NO", validSoundEntry.bukkitSoundName());
+		assertEquals(1.0f, validSoundEntry.volume());
+		assertEquals(2.0f, validSoundEntry.pitch());
+	}
+
+
+	@Test
+	void getGroupsTest() {
+		assertTrue(soundConfiguration.getGroups().containsAll(List.of("villager", "ambient")),
+				"not all configured sound groups are in the collection returned.");
+	}
+
+	@Test
+	void groupDisabledTest() {
+		clearInvocations(player);
+		soundConfiguration.setGroupEnabled("villager", false);
+		assertFalse(soundConfiguration.isGroupEnabled("villager"));
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+
+		soundConfiguration.setGroupEnabled("villager", true);
+		assertTrue(soundConfiguration.isGroupEnabled("villager"));
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+	}
+
+
+	@Test
+	void groupEnabledConcurrentTest() throws InterruptedException {
+		Thread[] threads = new Thread[2];
+		String[] groups = { "villager", "ambient" };
+		for (int t = 0; t < threads.length; t++) {
+			String group = groups[t];
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					soundConfiguration.setGroupEnabled(group, i % 2 == 0);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		// toggling one group must not lose a concurrent change to another
+		soundConfiguration.setGroupEnabled("villager", true);
+		assertFalse(soundConfiguration.isGroupEnabled("ambient"));
+		clearInvocations(player, world);
+		when(player.getWorld()).thenReturn(world);
+		soundConfiguration.playSound(player, SoundId.WORLD_SOUND);
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(world, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+	}
+
+	@Test
+	void playSoundByKeyTest() {
+		clearInvocations(player, world);
+		soundConfiguration.playSound(player, "ENABLED_SOUND");
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+
+		soundConfiguration.playSound(location, "WORLD_SOUND");
+		verify(world).playSound(eq(location), any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+
+		soundConfiguration.playSound(location, "invalid_key");
+		verifyNoMoreInteractions(world);
+	}
+
+	@Test
+	void soundBindingTest() {
+		clearInvocations(player);
+		SoundBinding binding = soundConfiguration.bind(SoundId.class);
+		binding.playSound(player, SoundId.ENABLED_SOUND.ordinal());
+		soundConfiguration.reload();
+		binding.playSound(player, SoundId.ENABLED_SOUND.ordinal());
+		binding.playSound(player, SoundId.DISABLED_SOUND.ordinal());
+		verify(player, times(2)).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+	}
+
+	@Test
+	void playSoundAnchoredToEntityTest() {
+		clearInvocations(player, world);
+		Entity entity = mock(Entity.class, "mockEntity");
+		when(entity.getWorld()).thenReturn(world);
+		when(player.getWorld()).thenReturn(world);
+
+		soundConfiguration.playSound(entity, SoundId.WORLD_SOUND);
+		verify(world).playSound(eq(entity), any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+
+		soundConfiguration.playSound(player, SoundId.WORLD_SOUND);
+		verify(world).playSound(eq(player), any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+		verify(player, never()).getLocation();
+	}
+
+	@Test
+	void playerPreferencesTest() {
+		clearInvocations(player, world);
+		when(player.getWorld()).thenReturn(world);
+		soundConfiguration.setPreferences(playerUid, PlayerSoundPreferences.DEFAULT
+				.withMuted(SoundId.WORLD_SOUND, true)
+				.withVolumeScale(SoundCategory.NEUTRAL, 0.5f)
+				.withVolumeScale(SoundCategory.MASTER, 0.5f));
+
+		// a player only sound is played with the player's volume scale
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(0.5f), eq(2.0f));
+
+		// a world sound is heard by other players, so it is neither muted nor scaled by one player
+		soundConfiguration.playSound(player, SoundId.WORLD_SOUND);
+		verify(world).playSound(eq(player), any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+
+		soundConfiguration.setPreferences(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player, times(1)).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+	}
+
+	@Test
+	void closedWhenPluginDisabledTest() throws EventException {
+		Server server = mock(Server.class);
+		PluginManager pluginManager = mock(PluginManager.class);
+		when(server.getPluginManager()).thenReturn(pluginManager);
+		when(plugin.getServer()).thenReturn(server);
+		when(plugin.isEnabled()).thenReturn(true);
+
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		ArgumentCaptor<EventExecutor> disableExecutor = ArgumentCaptor.forClass(EventExecutor.class);
+		verify(pluginManager).registerEvent(eq(PluginDisableEvent.class), any(Listener.class), eq(EventPriority.MONITOR),
+				disableExecutor.capture(), eq(plugin), eq(false));
+		soundConfiguration.setPreferences(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+
+		// disabling another plugin does not close the sound configuration
+		File preferenceFile = new File(tempDataDirectory, "sound-preferences.dat");
+		disableExecutor.getValue().execute(mock(Listener.class), new PluginDisableEvent(mock(Plugin.class)));
+		soundConfiguration.setPreferences(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.WORLD_SOUND, true));
+
+		// disabling the plugin finishes pending preference writes without a call to close
+		disableExecutor.getValue().execute(mock(Listener.class), new PluginDisableEvent(plugin));
+		assertEquals(5 + 2 * 27, preferenceFile.length(), "the header and both preference records should be written.");
+	}
+
+	@Test
+	void soundEffectsSettingReloadedTest() throws InvalidConfigurationException {
+		clearInvocations(player);
+
+		// reloading the plugin configuration replaces it, which takes effect without reloading the sounds
+		FileConfiguration reloaded = new YamlConfiguration();
+		reloaded.loadFromString("sound-effects: false");
+		when(plugin.getConfig()).thenReturn(reloaded);
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+
+		// a setting changed in place takes effect when the sound configuration is reloaded
+		reloaded.set("sound-effects", true);
+		soundConfiguration.reload();
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+	}
+
+	@Test
+	void mutedByKeyTest() {
+		clearInvocations(player);
+		soundConfiguration.bind(SoundId.class);
+		soundConfiguration.setPreferences(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+
+		// a mute applies however the sound is played
+		soundConfiguration.playSound(player, "ENABLED_SOUND");
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		verify(player, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+
+		soundConfiguration.setPreferences(playerUid, PlayerSoundPreferences.DEFAULT);
+		soundConfiguration.playSound(player, "ENABLED_SOUND");
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+	}
+
+	@Test
+	void sharedRegistryTest() {
+		YamlSoundConfiguration first = new YamlSoundConfiguration(plugin);
+		YamlSoundConfiguration second = new YamlSoundConfiguration(plugin);
+		assertEquals(first.getSoundEntry(SoundId.ENABLED_SOUND), second.getSoundEntry(SoundId.ENABLED_SOUND),
+				"identical sound entries were not equal between sound configurations.");
+		assertSame(first.getBukkitSoundName("ENABLED_SOUND"), second.getBukkitSoundName("ENABLED_SOUND"),
+				"identical sound names were not shared between sound configurations.");
+
+		SoundConfigReport report = first.getReport();
+		assertEquals(3, report.entryCount());
+		assertEquals(0, report.invalidCount());
+		assertEquals(0, report.unresolvedCount());
+	}
+
+	@Test
+	void playbackTraceTicksTest() throws IOException {
+		Server server = mock(Server.class);
+		BukkitScheduler scheduler = mock(BukkitScheduler.class);
+		BukkitTask task = mock(BukkitTask.class);
+		when(scheduler.runTaskTimer(eq(plugin), any(Runnable.class), eq(1L), eq(1L))).thenReturn(task);
+		when(server.getScheduler()).thenReturn(scheduler);
+		when(server.getPluginManager()).thenReturn(mock(PluginManager.class));
+		when(plugin.getServer()).thenReturn(server);
+
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		File traceFile = new File(tempDataDirectory, "sounds.trace");
+		assertTrue(soundConfiguration.startRecording(traceFile));
+		ArgumentCaptor<Runnable> tickTask = ArgumentCaptor.forClass(Runnable.class);
+		verify(scheduler).runTaskTimer(eq(plugin), tickTask.capture(), eq(1L), eq(1L));
+
+		// requests are timed by server ticks, and a world that was loaded again is known by its id
+		soundConfiguration.playSound(location, SoundId.WORLD_SOUND);
+		for (int i = 0; i < 3; i++) {
+			tickTask.getValue().run();
+		}
+		World reloadedWorld = mock(World.class, "mockReloadedWorld");
+		when(reloadedWorld.getUID()).thenReturn(worldUid);
+		soundConfiguration.playSound(new Location(reloadedWorld, 1, 2, 3), SoundId.WORLD_SOUND);
+		soundConfiguration.stopRecording();
+		verify(task).cancel();
+
+		PlaybackTrace trace = PlaybackTrace.read(traceFile);
+		assertEquals(2, trace.size());
+		assertEquals(4, trace.getTickCount());
+		assertEquals("world", trace.getWorldName(1));
+		verify(reloadedWorld, never()).getName();
+	}
+
+	@Test
+	void playbackTraceTest() throws IOException {
+		World nether = mock(World.class, "mockNether");
+		when(nether.getName()).thenReturn("world_nether");
+		when(nether.getUID()).thenReturn(new UUID(1, 2));
+
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		File traceFile = new File(tempDataDirectory, "sounds.trace");
+		assertTrue(soundConfiguration.startRecording(traceFile));
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		soundConfiguration.reload();
+		soundConfiguration.playSound(new Location(world, 40, 70, -20), SoundId.WORLD_SOUND);
+		soundConfiguration.playSound(new Location(nether, -3000000, -60, 12), "WORLD_SOUND");
+		soundConfiguration.playSound(location, "invalid_key");
+		soundConfiguration.stopRecording();
+
+		PlaybackTrace trace = PlaybackTrace.read(traceFile);
+		assertEquals(4, trace.size());
+		assertEquals("ENABLED_SOUND", trace.getKey(0));
+		assertEquals("WORLD_SOUND", trace.getKey(1));
+		assertEquals("WORLD_SOUND", trace.getKey(2));
+		assertNull(trace.getKey(3), "a request for an unconfigured key should have no key.");
+		assertEquals("world", trace.getWorldName(1));
+		assertEquals("world_nether", trace.getWorldName(2));
+
+		// each location request is replayed at its block in its own world
+		clearInvocations(player, world, nether);
+		Map<String, World> worlds = Map.of("world", world, "world_nether", nether);
+		assertEquals(3, trace.replay(soundConfiguration, worlds::get, List.of(player), 0));
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+		verify(world).playSound(argThat((Location replayed) -> replayed.getBlockX() == 40
+						&& replayed.getBlockY() == 70 && replayed.getBlockZ() == -20),
+				any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+		verify(nether).playSound(argThat((Location replayed) -> replayed.getBlockX() == -3000000
+						&& replayed.getBlockY() == -60 && replayed.getBlockZ() == 12),
+				any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+		soundConfiguration.close();
+	}
+
+	@Test
+	void flightRecorderEventsTest() throws IOException {
+		Path recordingFile = new File(tempDataDirectory, "sounds.jfr").toPath();
+		try (Recording recording = new Recording()) {
+			recording.enable("com.winterhavenmc.soundconfig.Reload");
+			recording.enable("com.winterhavenmc.soundconfig.Playback").withThreshold(Duration.ZERO);
+			recording.start();
+			soundConfiguration.reload();
+			soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+			recording.stop();
+			recording.dump(recordingFile);
+		}
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+		RecordedEvent reloadEvent = events.stream()
+				.filter(event -> event.getEventType().getName().equals("com.winterhavenmc.soundconfig.Reload"))
+				.findFirst().orElseThrow();
+		assertEquals(3, reloadEvent.getInt("entryCount"));
+		assertEquals(0, reloadEvent.getInt("invalidCount"));
+
+		RecordedEvent playbackEvent = events.stream()
+				.filter(event -> event.getEventType().getName().equals("com.winterhavenmc.soundconfig.Playback"))
+				.findFirst().orElseThrow();
+		assertEquals("ENABLED_SOUND", playbackEvent.getString("key"));
+		assertEquals(1, playbackEvent.getInt("targetCount"));
+	}
+
+	@Test
+	void eventBindingsTest() throws IOException, EventException {
+		Files.writeString(new File(tempDataDirectory, "sounds.yml").toPath(), """
+
+				bindings:
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: WORLD_SOUND
+				    world: world
+				    region: [10, 10, 10, -10, -10, -10]
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: ENABLED_SOUND
+				    target: player
+				    permission: sounds.break
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: invalid_key
+				""", StandardOpenOption.APPEND);
+
+		Server server = mock(Server.class);
+		PluginManager pluginManager = mock(PluginManager.class);
+		when(server.getPluginManager()).thenReturn(pluginManager);
+		when(plugin.getServer()).thenReturn(server);
+		when(plugin.isEnabled()).thenReturn(false);
+
+		// bindings are registered once the plugin is enabled, and the bindings of a reload replace them
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		assertEquals(3, soundConfiguration.getKeys().size(), "the bindings section should not be a sound entry.");
+		verify(pluginManager, never()).registerEvent(eq(BlockBreakEvent.class), any(Listener.class), any(EventPriority.class),
+				any(EventExecutor.class), any(Plugin.class), anyBoolean());
+		when(plugin.isEnabled()).thenReturn(true);
+		soundConfiguration.playSound(location, SoundId.WORLD_SOUND);
+		soundConfiguration.reload();
+
+		ArgumentCaptor<EventExecutor> executor = ArgumentCaptor.forClass(EventExecutor.class);
+		verify(pluginManager, times(2)).registerEvent(eq(BlockBreakEvent.class), any(Listener.class), eq(EventPriority.MONITOR),
+				executor.capture(), eq(plugin), eq(false));
+
+		Block block = mock(Block.class);
+		Location blockLocation = new Location(world, 5, 5, 5);
+		when(block.getLocation()).thenReturn(blockLocation);
+		when(player.getWorld()).thenReturn(world);
+		when(player.hasPermission("sounds.break")).thenReturn(true);
+		clearInvocations(player, world);
+
+		BlockBreakEvent event = new BlockBreakEvent(block, player);
+		executor.getValue().execute(mock(Listener.class), event);
+		verify(world).playSound(eq(blockLocation), any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+		verify(player).playSound(eq(player), any(Sound.class), eq(SoundCategory.NEUTRAL), eq(1.0f), eq(2.0f));
+
+		clearInvocations(player, world);
+		event.setCancelled(true);
+		executor.getValue().execute(mock(Listener.class), event);
+		verify(world, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+		verify(player, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+		soundConfiguration.close();
+	}
+
+
+	@Test
+	void eventBindingTargetTest() throws IOException, EventException {
+		Files.writeString(new File(tempDataDirectory, "sounds.yml").toPath(), """
+
+				bindings:
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: WORLD_SOUND
+				    region: [10, 10, 10, -10, -10, -10]
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: ENABLED_SOUND
+				    target: player
+				    region: [10, 10, 10, -10, -10, -10]
+				  - event: org.bukkit.event.block.BlockBreakEvent
+				    sound: ENABLED_SOUND
+				    target: entity
+				""", StandardOpenOption.APPEND);
+
+		Server server = mock(Server.class);
+		PluginManager pluginManager = mock(PluginManager.class);
+		when(server.getPluginManager()).thenReturn(pluginManager);
+		when(plugin.getServer()).thenReturn(server);
+		when(plugin.isEnabled()).thenReturn(true);
+
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		ArgumentCaptor<EventExecutor> executor = ArgumentCaptor.forClass(EventExecutor.class);
+		verify(pluginManager).registerEvent(eq(BlockBreakEvent.class), any(Listener.class), eq(EventPriority.MONITOR),
+				executor.capture(), eq(plugin), eq(false));
+
+		// the player is outside the region and the block is inside it
+		Block block = mock(Block.class);
+		Location blockLocation = new Location(world, 5, 5, 5);
+		when(block.getLocation()).thenReturn(blockLocation);
+		when(player.getLocation()).thenReturn(new Location(world, 100, 64, 100));
+		clearInvocations(player, world);
+
+		executor.getValue().execute(mock(Listener.class), new BlockBreakEvent(block, player));
+		verify(world).playSound(eq(blockLocation), any(Sound.class), eq(SoundCategory.MASTER), eq(1.0f), eq(1.0f));
+		verify(player, never()).playSound(any(Entity.class), any(Sound.class), any(SoundCategory.class), anyFloat(), anyFloat());
+		soundConfiguration.close();
+	}
+
+
+	@Test
+	void soundDirectoryTest() throws IOException {
+		File soundDirectory = new File(tempDataDirectory, "sounds");
+		assertTrue(soundDirectory.mkdirs());
+		File extraFile = new File(soundDirectory, "extra.yml");
+		Files.writeString(extraFile.toPath(), """
+				EXTRA_SOUND:
+				  enabled: true
+				  player-only: true
+				  sound: UI_BUTTON_CLICK
+				  volume: 1
+				  pitch: 1
+				  groups: [ambient, extra]
+				ENABLED_SOUND:
+				  enabled: true
+				  player-only: true
+				  sound: UI_BUTTON_CLICK
+				  volume: 1
+				  pitch: 1
+				""");
+
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		assertEquals(List.of("ENABLED_SOUND", "DISABLED_SOUND", "WORLD_SOUND", "EXTRA_SOUND"),
+				List.copyOf(soundConfiguration.getKeys()));
+		assertEquals(2.0f, soundConfiguration.getEntry(SoundId.ENABLED_SOUND).pitch(),
+				"the first definition of a duplicate key should be kept.");
+		assertEquals(Set.of("villager", "ambient", "extra"), soundConfiguration.getGroups());
+		assertEquals(List.of("sounds/extra.yml: ENABLED_SOUND: the sound is already defined in 'sounds.yml'."),
+				soundConfiguration.getReport().problems());
+
+		// an unchanged file is not parsed again
+		SoundTable table = soundConfiguration.soundTable();
+		soundConfiguration.reload();
+		assertSame(table, soundConfiguration.soundTable());
+
+		Files.writeString(extraFile.toPath(), """
+				EXTRA_SOUND:
+				  enabled: true
+				  player-only: true
+				  sound: UI_BUTTON_CLICK
+				  volume: 1
+				  pitch: 1.5
+				""");
+		soundConfiguration.reload();
+		assertNotSame(table, soundConfiguration.soundTable());
+		assertEquals(4, soundConfiguration.getKeys().size());
+		assertTrue(soundConfiguration.getReport().problems().isEmpty());
+
+		// the default sound file is not installed beside a sounds directory
+		File soundFile = new File(tempDataDirectory, "sounds.yml");
+		assertTrue(soundFile.delete());
+		soundConfiguration.reload();
+		assertFalse(soundFile.exists());
+		assertEquals(List.of("EXTRA_SOUND"), List.copyOf(soundConfiguration.getKeys()));
+		soundConfiguration.close();
+
+		soundConfiguration = new YamlSoundConfiguration(plugin);
+		assertFalse(soundFile.exists());
+		assertEquals(List.of("EXTRA_SOUND"), List.copyOf(soundConfiguration.getKeys()));
+		soundConfiguration.close();
+	}
+
+	@Test
+	void legacySoundNameMigrationTest() throws IOException {
+		Path soundFile = new File(tempDataDirectory, "sounds.yml").toPath();
+		Files.writeString(soundFile, """
+
+				LEGACY_SOUND:
+				  enabled: true
+				  player-only: true
+				  sound: 'villager_yes' # renamed in 1.9
+				  volume: 1
+				  pitch: 1
+				""", StandardOpenOption.APPEND);
+
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		assertEquals("ENTITY_VILLAGER_YES", soundConfiguration.getBukkitSoundName("LEGACY_SOUND"));
+		assertEquals(0, soundConfiguration.getReport().unresolvedCount());
+		assertEquals(List.of(new SoundNameMigration("LEGACY_SOUND", "villager_yes", "ENTITY_VILLAGER_YES", "1.9")),
+				soundConfiguration.getMigrations());
+
+		assertEquals(soundConfiguration.getMigrations(), soundConfiguration.rewriteSoundNames());
+		assertTrue(Files.readString(soundFile).contains("  sound: 'ENTITY_VILLAGER_YES' # renamed in 1.9\n"));
+		assertTrue(soundConfiguration.getMigrations().isEmpty(), "the rewritten file should not need migration.");
+		assertEquals("ENTITY_VILLAGER_YES", soundConfiguration.getBukkitSoundName("LEGACY_SOUND"));
+		soundConfiguration.close();
+	}
+
+	private enum MusicId { AMBIENT_MUSIC }
+
+	@Test
+	void stopActiveSoundsTest() throws IOException, EventException {
+		Files.writeString(new File(tempDataDirectory, "sounds.yml").toPath(), """
+
+				AMBIENT_MUSIC:
+				  enabled: true
+				  player-only: true
+				  sound: ENTITY_VILLAGER_YES
+				  volume: 1
+				  pitch: 1
+				  category: MUSIC
+				  duration: 120
+				""", StandardOpenOption.APPEND);
+
+		Server server = mock(Server.class);
+		PluginManager pluginManager = mock(PluginManager.class);
+		when(server.getPluginManager()).thenReturn(pluginManager);
+		when(plugin.getServer()).thenReturn(server);
+		when(plugin.isEnabled()).thenReturn(false);
+
+		// the quit listener is registered when the first sound is tracked, after the plugin is enabled
+		YamlSoundConfiguration soundConfiguration = new YamlSoundConfiguration(plugin);
+		when(plugin.isEnabled()).thenReturn(true);
+		verify(pluginManager, never()).registerEvent(eq(PlayerQuitEvent.class), any(Listener.class), any(EventPriority.class),
+				any(EventExecutor.class), any(Plugin.class), anyBoolean());
+
+		// a sound is stopped once, and only while it is playing
+		soundConfiguration.stopSound(player, MusicId.AMBIENT_MUSIC);
+		soundConfiguration.playSound(player, MusicId.AMBIENT_MUSIC);
+		ArgumentCaptor<EventExecutor> quitExecutor = ArgumentCaptor.forClass(EventExecutor.class);
+		verify(pluginManager).registerEvent(eq(PlayerQuitEvent.class), any(Listener.class), eq(EventPriority.MONITOR),
+				quitExecutor.capture(), eq(plugin), eq(false));
+		soundConfiguration.stopSound(player, MusicId.AMBIENT_MUSIC);
+		soundConfiguration.stopSound(player, MusicId.AMBIENT_MUSIC);
+		verify(player, times(1)).stopSound(any(Sound.class), eq(SoundCategory.MUSIC));
+
+		// sounds without a duration are not tracked
+		soundConfiguration.playSound(player, SoundId.ENABLED_SOUND);
+		soundConfiguration.stopCategory(player, SoundCategory.NEUTRAL);
+		verify(player, never()).stopSound(any(SoundCategory.class));
+
+		// only the tracked sounds in a category are stopped, not the whole category
+		soundConfiguration.playSound(player, MusicId.AMBIENT_MUSIC);
+		soundConfiguration.stopCategory(player, SoundCategory.MUSIC);
+		verify(player, times(2)).stopSound(any(Sound.class), eq(SoundCategory.MUSIC));
+		verify(player, never()).stopSound(any(SoundCategory.class));
+
+		Player otherPlayer = mock(Player.class);
+		when(otherPlayer.getUniqueId()).thenReturn(new UUID(0, 2));
+		soundConfiguration.playSound(player, MusicId.AMBIENT_MUSIC);
+		soundConfiguration.stopAll(List.of(player, otherPlayer), MusicId.AMBIENT_MUSIC);
+		verify(player, times(3)).stopSound(any(Sound.class), eq(SoundCategory.MUSIC));
+		verify(otherPlayer, never()).stopSound(any(Sound.class), any(SoundCategory.class));
+
+		// the sounds of a player are forgotten when the player quits
+		soundConfiguration.playSound(player, MusicId.AMBIENT_MUSIC);
+		assertEquals(1, soundConfiguration.activeSounds().playerCount());
+		quitExecutor.getValue().execute(soundConfiguration.activeSounds(), new PlayerQuitEvent(player, "quit"));
+		assertEquals(0, soundConfiguration.activeSounds().playerCount());
+		verify(pluginManager, times(1)).registerEvent(eq(PlayerQuitEvent.class), any(Listener.class), any(EventPriority.class),
+				any(EventExecutor.class), any(Plugin.class), anyBoolean());
+		soundConfiguration.close();
+	}
+
+	@Test
+	void registryNamesAreForgottenTest() {
+		List<String> resolved = new ArrayList<>();
+		SoundConfigRegistry registry = new SoundConfigRegistry(name -> {
+			resolved.add(name);
+			return null;
+		});
+
+		// equal names are interned to one instance, which is resolved once
+		String kept = registry.intern(new String("KEPT_SOUND"));
+		assertSame(kept, registry.intern(new String("KEPT_SOUND")));
+		assertNull(registry.resolve(new String("KEPT_SOUND")));
+		assertNull(registry.resolve(new String("KEPT_SOUND")));
+		assertEquals(List.of("KEPT_SOUND"), resolved);
+
+		// a name whose reference was collected is interned again, and resolved again
+		registry.clearReferences();
+		String interned = new String("KEPT_SOUND");
+		assertSame(interned, registry.intern(interned));
+		assertNull(registry.resolve("KEPT_SOUND"));
+		assertEquals(List.of("KEPT_SOUND", "KEPT_SOUND"), resolved);
+		assertEquals(1, registry.nameCount());
+	}
+
+	@Test
+	void sharedRegistryIsReleasedTest() {
+		SoundConfigRegistry registry = SoundConfigRegistry.getInstance();
+		assertSame(registry, SoundConfigRegistry.getInstance());
+
+		// the registry is kept while a configuration uses it, and released when the last one is closed
+		soundConfiguration.close();
+		assertNotSame(registry, SoundConfigRegistry.getInstance());
+	}
+
+	// TESTING HELPER METHODS
+
+	/**
+	 * get an array of config enum constant names
+ 	 * @return String[] an array of enum constant names
+	 */
+	private static String[] soundKeyProvider() {
+		return Arrays.stream(SoundId.values()).map(Enum::name).toArray(String[]::new);
+	}
+
+	/**
+	 * Create a temporary folder
+	 * @throws IOException if directory cannot be created
+	 */
+	public static File createTempDataDir() throws IOException {
+		String tempDataDirectoryPath = Files.createTempDirectory("PluginData").toFile().getAbsolutePath();
+		File tempDir = new File(tempDataDirectoryPath);
+		@SuppressWarnings("unused") boolean success = tempDir.mkdirs();
+		if (!tempDir.isDirectory()) {
+			throw new IOException();
+		} else {
+			tempDir.deleteOnExit();
+		}
+		return tempDir;
+	}
+
+	@SuppressWarnings({"UnusedReturnValue", "SameParameterValue"})
+	private boolean installResource(final String name) throws IOException {
+
+		InputStream inputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(name);
+
+		boolean success = false;
+
+		if (inputStream != null) {
+			long bytesCopied = Files.copy(inputStream, Paths.get(tempDataDirectory.getPath(), name));
+			if (bytesCopied > 0) {
+				success = true;
+			}
+		}
+		else {
+			throw new IOException("InputStream for '" + name + "' resource is null.");
+		}
+		return success;
+	}
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class SoundKeyIndexTest
+{
+	@Test
+	void indexOf_all_keys()
+	{
+		String[] keys = new String[5000];
+		for (int i = 0; i < keys.length; i++)
+		{
+			keys[i] = "SOUND_" + i;
+		}
+
+		SoundKeyIndex index = SoundKeyIndex.build(keys);
+		for (int i = 0; i < keys.length; i++)
+		{
+			assertEquals(i, index.indexOf(keys[i]));
+		}
+		assertEquals(keys.length, index.size());
+		assertEquals(keys.length, index.slotCount());
+	}
+
+
+	@Test
+	void indexOf_random_keys_linear_size()
+	{
+		// key names like those in real configurations, rather than sequential keys that hash almost perfectly
+		String[] prefixes = { "ENTITY_", "BLOCK_", "ITEM_", "UI_", "AMBIENT_", "MUSIC_", "COMMAND_", "TELEPORT_" };
+		Random random = new Random(42);
+		Set<String> distinct = new LinkedHashSet<>();
+		while (distinct.size() < 10_000)
+		{
+			StringBuilder key = new StringBuilder(prefixes[random.nextInt(prefixes.length)]);
+			int length = 4 + random.nextInt(16);
+			for (int i = 0; i < length; i++)
+			{
+				key.append(random.nextInt(6) == 0 ? '_' : (char) ('A' + random.nextInt(26)));
+			}
+			distinct.add(key.toString());
+		}
+		String[] keys = distinct.toArray(new String[0]);
+
+		SoundKeyIndex index = SoundKeyIndex.build(keys);
+		for (int i = 0; i < keys.length; i++)
+		{
+			assertEquals(i, index.indexOf(keys[i]));
+		}
+		assertTrue(index.slotCount() <= keys.length + keys.length / 8,
+				"the index should have about one slot per key, but has " + index.slotCount() + " slots.");
+		assertTrue(index.seedCount() <= keys.length / 4 + 1);
+	}
+
+
+	@Test
+	void indexOf_spare_slots()
+	{
+		// with only two seeds per bucket a minimal table cannot be placed, so spare slots are added
+		String[] keys = new String[2000];
+		for (int i = 0; i < keys.length; i++)
+		{
+			keys[i] = "ENTITY_" + Integer.toHexString(i * 0x9E3779B9);
+		}
+
+		SoundKeyIndex index = SoundKeyIndex.build(keys, 2);
+		assertTrue(index.slotCount() > keys.length);
+		for (int i = 0; i < keys.length; i++)
+		{
+			assertEquals(i, index.indexOf(keys[i]));
+		}
+		for (int i = 0; i < 100_000; i++)
+		{
+			assertEquals(-1, index.indexOf("MISSING_" + i));
+		}
+	}
+
+
+	@Test
+	void indexOf_missing_key()
+	{
+		SoundKeyIndex index = SoundKeyIndex.build(new String[] { "ENABLED_SOUND", "DISABLED_SOUND" });
+		assertEquals(-1, index.indexOf("WORLD_SOUND"));
+		assertEquals(-1, index.indexOf(null));
+	}
+
+
+	@Test
+	void indexOf_empty()
+	{
+		SoundKeyIndex index = SoundKeyIndex.build(new String[0]);
+		assertEquals(-1, index.indexOf("ENABLED_SOUND"));
+	}
+
+
+	@Test
+	void indexOf_equal_hash_codes()
+	{
+		// "Aa" and "BB" have the same String hash code
+		SoundKeyIndex index = SoundKeyIndex.build(new String[] { "Aa", "BB", "AaBB", "BBAa" });
+		assertEquals(0, index.indexOf("Aa"));
+		assertEquals(1, index.indexOf("BB"));
+		assertEquals(2, index.indexOf("AaBB"));
+		assertEquals(3, index.indexOf("BBAa"));
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig;
+
+import com.winterhavenmc.library.soundconfig.sounds.SoundId;
+import org.bukkit.SoundCategory;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class SoundPreferenceStoreTest
+{
+	private final static UUID playerUid = new UUID(0, 1);
+	private final Logger logger = Logger.getLogger("Mock Plugin");
+
+	File preferenceFile;
+
+
+	@BeforeEach
+	void setUp() throws IOException
+	{
+		File tempDir = Files.createTempDirectory("PluginData").toFile();
+		tempDir.deleteOnExit();
+		preferenceFile = new File(tempDir, "sound-preferences.dat");
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		preferenceFile = null;
+	}
+
+
+	@Test
+	void muted()
+	{
+		PlayerSoundPreferences preferences = PlayerSoundPreferences.DEFAULT.withMuted(SoundId.WORLD_SOUND, true);
+		assertTrue(preferences.isMuted(SoundId.WORLD_SOUND));
+		assertFalse(preferences.isMuted(SoundId.ENABLED_SOUND));
+		assertFalse(preferences.isMuted(200));
+		assertTrue(preferences.withMuted(SoundId.WORLD_SOUND, false).isDefault());
+	}
+
+
+	@Test
+	void volumeScale()
+	{
+		PlayerSoundPreferences preferences = PlayerSoundPreferences.DEFAULT.withVolumeScale(SoundCategory.AMBIENT, 0.5f);
+		assertEquals(0.5f, preferences.getVolumeScale(SoundCategory.AMBIENT));
+		assertEquals(1.0f, preferences.getVolumeScale(SoundCategory.MASTER));
+		assertTrue(preferences.withVolumeScale(SoundCategory.AMBIENT, 1.0f).isDefault());
+	}
+
+
+	@Test
+	void get_unknown_player()
+	{
+		SoundPreferenceStore store = new SoundPreferenceStore(preferenceFile, logger);
+		store.loaded().join();
+		assertSame(PlayerSoundPreferences.DEFAULT, store.get(playerUid));
+		store.close();
+	}
+
+
+	@Test
+	void preferences_persist()
+	{
+		PlayerSoundPreferences preferences = PlayerSoundPreferences.DEFAULT
+				.withMuted(SoundId.DISABLED_SOUND, true)
+				.withVolumeScale(SoundCategory.PLAYERS, 0.25f);
+
+		SoundPreferenceStore store = new SoundPreferenceStore(preferenceFile, logger);
+		store.put(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+		store.put(playerUid, preferences);
+		store.close();
+
+		SoundPreferenceStore reopened = new SoundPreferenceStore(preferenceFile, logger);
+		reopened.loaded().join();
+		assertEquals(preferences, reopened.get(playerUid));
+		reopened.close();
+	}
+
+
+	@Test
+	void default_preferences_clear_record()
+	{
+		SoundPreferenceStore store = new SoundPreferenceStore(preferenceFile, logger);
+		store.put(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+		store.put(playerUid, PlayerSoundPreferences.DEFAULT);
+		store.close();
+
+		SoundPreferenceStore reopened = new SoundPreferenceStore(preferenceFile, logger);
+		reopened.loaded().join();
+		assertSame(PlayerSoundPreferences.DEFAULT, reopened.get(playerUid));
+		reopened.close();
+	}
+
+
+	@Test
+	void put_while_loading_supersedes_stored_record()
+	{
+		SoundPreferenceStore store = new SoundPreferenceStore(preferenceFile, logger);
+		store.put(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+		store.close();
+
+		// clearing the preferences before or while the file is read must not let the stored record return
+		for (int i = 0; i < 20; i++)
+		{
+			SoundPreferenceStore reopened = new SoundPreferenceStore(preferenceFile, logger);
+			reopened.put(playerUid, PlayerSoundPreferences.DEFAULT);
+			reopened.loaded().join();
+			assertSame(PlayerSoundPreferences.DEFAULT, reopened.get(playerUid));
+			reopened.put(playerUid, PlayerSoundPreferences.DEFAULT.withMuted(SoundId.ENABLED_SOUND, true));
+			reopened.close();
+		}
+	}
+
+}
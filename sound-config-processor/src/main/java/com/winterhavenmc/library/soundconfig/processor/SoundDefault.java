@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * The default sound configuration entry for a member of an enum marked with {@link SoundEnum}
+ */
+@Target(ElementType.FIELD)
+@Retention(RetentionPolicy.SOURCE)
+public @interface SoundDefault
+{
+	/**
+	 * @return the bukkit sound name
+	 */
+	String sound();
+
+	/**
+	 * @return true if the sound is enabled for playback
+	 */
+	boolean enabled() default true;
+
+	/**
+	 * @return true if the sound is played only for the player, false if it is played in the world
+	 */
+	boolean playerOnly() default false;
+
+	/**
+	 * @return the volume of playback
+	 */
+	float volume() default 1.0f;
+
+	/**
+	 * @return the pitch of playback
+	 */
+	float pitch() default 1.0f;
+
+	/**
+	 * @return the name of the bukkit sound category
+	 */
+	String category() default "MASTER";
+
+	/**
+	 * @return the names of the sound groups that contain the sound
+	 */
+	String[] groups() default {};
+}
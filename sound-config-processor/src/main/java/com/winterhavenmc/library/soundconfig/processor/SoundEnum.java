@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+
+/**
+ * Marks a plugin's sound identifier enum. The annotation processor generates an accessor class that
+ * plays each sound by constant ordinal, and a default sound configuration resource built from the
+ * {@link SoundDefault} annotation on each enum member, so the enum and the file cannot drift apart.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface SoundEnum
+{
+	/**
+	 * The simple name of the generated accessor class, in the package of the enum
+	 *
+	 * @return the class name, or an empty string for the enum name followed by {@code Sounds}
+	 */
+	String accessor() default "";
+
+
+	/**
+	 * The name of the generated default sound configuration resource
+	 *
+	 * @return the resource name
+	 */
+	String resource() default "sounds.yml";
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig.processor;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+
+/**
+ * An annotation processor that generates a typed accessor class and a default sound configuration
+ * resource for each enum marked with {@link SoundEnum}. The accessor plays sounds through a
+ * {@code SoundBinding} with the ordinal of each enum member as a compile-time constant, so no enum
+ * name or string key is looked up at runtime.
+ */
+@SupportedAnnotationTypes("com.winterhavenmc.library.soundconfig.processor.SoundEnum")
+public final class SoundEnumProcessor extends AbstractProcessor
+{
+	private final Set<String> resourceNames = new HashSet<>();
+
+
+	@Override
+	public SourceVersion getSupportedSourceVersion()
+	{
+		return SourceVersion.latestSupported();
+	}
+
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment)
+	{
+		for (Element element : roundEnvironment.getElementsAnnotatedWith(SoundEnum.class))
+		{
+			if (element.getKind() != ElementKind.ENUM)
+			{
+				error(element, "@SoundEnum may only be used on an enum.");
+				continue;
+			}
+
+			TypeElement enumElement = (TypeElement) element;
+			List<VariableElement> constants = enumConstants(enumElement);
+			if (constants == null || !uniqueMethodNames(constants))
+			{
+				continue;
+			}
+
+			SoundEnum soundEnum = enumElement.getAnnotation(SoundEnum.class);
+			if (!resourceNames.add(soundEnum.resource()))
+			{
+				error(enumElement, "Another @SoundEnum already generates the resource '" + soundEnum.resource() + "'.");
+				continue;
+			}
+
+			try
+			{
+				writeAccessor(enumElement, soundEnum, constants);
+				writeResource(enumElement, soundEnum, constants);
+			}
+			catch (IOException ioException)
+			{
+				error(enumElement, "Could not write generated sound files: " + ioException.getLocalizedMessage());
+			}
+		}
+		return true;
+	}
+
+
+	private List<VariableElement> enumConstants(final TypeElement enumElement)
+	{
+		List<VariableElement> constants = new ArrayList<>();
+		boolean valid = true;
+
+		for (Element enclosed : enumElement.getEnclosedElements())
+		{
+			if (enclosed.getKind() == ElementKind.ENUM_CONSTANT)
+			{
+				if (enclosed.getAnnotation(SoundDefault.class) == null)
+				{
+					error(enclosed, "Every member of a @SoundEnum needs a @SoundDefault annotation.");
+					valid = false;
+				}
+				constants.add((VariableElement) enclosed);
+			}
+		}
+
+		return valid ? constants : null;
+	}
+
+
+	/**
+	 * Check that no two members of an enum generate the same accessor method name, such as
+	 * {@code FOO_BAR} and {@code FOO__BAR}, which would both generate {@code playFooBar}
+	 *
+	 * @return true if the method names are unique, false if a collision was reported
+	 */
+	private boolean uniqueMethodNames(final List<VariableElement> constants)
+	{
+		Map<String, VariableElement> methods = new HashMap<>();
+		boolean unique = true;
+
+		for (VariableElement constant : constants)
+		{
+			VariableElement other = methods.putIfAbsent(methodName(constant), constant);
+			if (other != null)
+			{
+				error(constant, "The sound " + constant.getSimpleName() + " generates the accessor method "
+						+ methodName(constant) + ", which is already generated for " + other.getSimpleName() + ".");
+				unique = false;
+			}
+		}
+
+		return unique;
+	}
+
+
+	private void writeAccessor(final TypeElement enumElement,
+	                           final SoundEnum soundEnum,
+	                           final List<VariableElement> constants) throws IOException
+	{
+		Elements elements = processingEnv.getElementUtils();
+		String packageName = elements.getPackageOf(enumElement).getQualifiedName().toString();
+		String className = soundEnum.accessor().isEmpty()
+				? enumElement.getSimpleName() + "Sounds"
+				: soundEnum.accessor();
+		String enumName = enumElement.getQualifiedName().toString();
+		String qualifiedClassName = packageName.isEmpty() ? className : packageName + "." + className;
+
+		JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(qualifiedClassName, enumElement);
+		try (Writer writer = sourceFile.openWriter())
+		{
+			if (!packageName.isEmpty())
+			{
+				writer.write("package " + packageName + ";\n\n");
+			}
+			writer.write("import com.winterhavenmc.library.soundconfig.SoundBinding;\n");
+			writer.write("import com.winterhavenmc.library.soundconfig.SoundConfiguration;\n");
+			writer.write("import org.bukkit.Location;\n");
+			writer.write("import org.bukkit.entity.Player;\n\n\n");
+			writer.write("/**\n * Typed sound accessor for {@link " + enumName + "}, generated by SoundConfigLib. Do not edit.\n */\n");
+			writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+			writer.write("public final class " + className + "\n{\n");
+
+			for (int ordinal = 0; ordinal < constants.size(); ordinal++)
+			{
+				writer.write("\tpublic static final int " + constants.get(ordinal).getSimpleName() + " = " + ordinal + ";\n");
+			}
+
+			writer.write("\n\tprivate final SoundBinding binding;\n\n\n");
+			writer.write("\tpublic " + className + "(final SoundConfiguration soundConfiguration)\n\t{\n");
+			writer.write("\t\tthis.binding = soundConfiguration.bind(" + enumName + ".class);\n\t}\n\n\n");
+			writer.write("\tpublic void playSound(final Player player, final int sound)\n\t{\n");
+			writer.write("\t\tbinding.playSound(player, sound);\n\t}\n\n\n");
+			writer.write("\tpublic void playSound(final Location location, final int sound)\n\t{\n");
+			writer.write("\t\tbinding.playSound(location, sound);\n\t}\n");
+
+			for (VariableElement constant : constants)
+			{
+				String name = constant.getSimpleName().toString();
+				String method = methodName(constant);
+				writer.write("\n\n\tpublic void " + method + "(final Player player)\n\t{\n");
+				writer.write("\t\tbinding.playSound(player, " + name + ");\n\t}\n");
+				writer.write("\n\n\tpublic void " + method + "(final Location location)\n\t{\n");
+				writer.write("\t\tbinding.playSound(location, " + name + ");\n\t}\n");
+			}
+
+			writer.write("\n}\n");
+		}
+	}
+
+
+	private void writeResource(final TypeElement enumElement,
+	                           final SoundEnum soundEnum,
+	                           final List<VariableElement> constants) throws IOException
+	{
+		FileObject resource = processingEnv.getFiler()
+				.createResource(StandardLocation.CLASS_OUTPUT, "", soundEnum.resource(), enumElement);
+
+		try (Writer writer = resource.openWriter())
+		{
+			writer.write("# Default sound configuration generated from " + enumElement.getQualifiedName() + "\n");
+
+			for (VariableElement constant : constants)
+			{
+				SoundDefault soundDefault = constant.getAnnotation(SoundDefault.class);
+				writer.write("\n" + constant.getSimpleName() + ":\n");
+				writer.write("  enabled: " + soundDefault.enabled() + "\n");
+				writer.write("  player-only: " + soundDefault.playerOnly() + "\n");
+				writer.write("  sound: " + quote(soundDefault.sound()) + "\n");
+				writer.write("  volume: " + soundDefault.volume() + "\n");
+				writer.write("  pitch: " + soundDefault.pitch() + "\n");
+				writer.write("  category: " + quote(soundDefault.category()) + "\n");
+				if (soundDefault.groups().length > 0)
+				{
+					StringJoiner groups = new StringJoiner(", ", "[", "]");
+					for (String group : soundDefault.groups())
+					{
+						groups.add(quote(group));
+					}
+					writer.write("  groups: " + groups + "\n");
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Quote an annotation value as a yaml scalar, so that characters such as {@code :}, {@code #} or
+	 * {@code ,} in the value cannot change the structure of the generated file
+	 *
+	 * @param value the annotation value
+	 * @return the double-quoted scalar
+	 */
+	private static String quote(final String value)
+	{
+		StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++)
+		{
+			char c = value.charAt(i);
+			switch (c)
+			{
+				case '"', '\\' -> builder.append('\\').append(c);
+				case '\n' -> builder.append("\\n");
+				case '\r' -> builder.append("\\r");
+				case '\t' -> builder.append("\\t");
+				default ->
+				{
+					if (c < 0x20)
+					{
+						builder.append(String.format("\\x%02x", (int) c));
+					}
+					else
+					{
+						builder.append(c);
+					}
+				}
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+
+	private static String methodName(final VariableElement constant)
+	{
+		return "play" + camelCase(constant.getSimpleName().toString());
+	}
+
+
+	private static String camelCase(final String constantName)
+	{
+		StringBuilder builder = new StringBuilder();
+		for (String word : constantName.toLowerCase(Locale.ROOT).split("_"))
+		{
+			if (!word.isEmpty())
+			{
+				builder.append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+			}
+		}
+		return builder.toString();
+	}
+
+
+	private void error(final Element element, final String message)
+	{
+		processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2025 Tim Savage.
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, version 3.
+ *
+ * This program is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package com.winterhavenmc.library.soundconfig.processor;
+
+import com.winterhavenmc.library.soundconfig.SoundConfiguration;
+import org.bukkit.Location;
+import org.junit.jupiter.api.*;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+
+class SoundEnumProcessorTest
+{
+	Path outputDirectory;
+
+
+	@BeforeEach
+	void setUp() throws IOException
+	{
+		outputDirectory = Files.createTempDirectory("SoundEnumProcessor");
+		outputDirectory.toFile().deleteOnExit();
+	}
+
+	@AfterEach
+	void tearDown()
+	{
+		outputDirectory = null;
+	}
+
+
+	@Test
+	void generates_accessor_and_resource() throws IOException
+	{
+		List<String> errors = process("""
+				package test.sounds;
+				import com.winterhavenmc.library.soundconfig.processor.*;
+				@SoundEnum
+				public enum SoundId {
+					@SoundDefault(sound = "ENTITY_VILLAGER_NO", playerOnly = true, pitch = 2.0f) ENABLED_SOUND,
+					@SoundDefault(sound = "ENTITY_VILLAGER_NO", enabled = false, groups = { "villager" }) DISABLED_SOUND
+				}
+				""");
+		assertTrue(errors.isEmpty(), String.join("\n", errors));
+
+		String accessor = Files.readString(outputDirectory.resolve("test/sounds/SoundIdSounds.java"));
+		assertTrue(accessor.contains("public static final int ENABLED_SOUND = 0;"));
+		assertTrue(accessor.contains("public static final int DISABLED_SOUND = 1;"));
+		assertTrue(accessor.contains("soundConfiguration.bind(test.sounds.SoundId.class)"));
+		assertTrue(accessor.contains("public void playEnabledSound(final Player player)"));
+
+		String resource = Files.readString(outputDirectory.resolve("sounds.yml"));
+		assertTrue(resource.contains("ENABLED_SOUND:\n  enabled: true\n  player-only: true\n  sound: \"ENTITY_VILLAGER_NO\"\n  volume: 1.0\n  pitch: 2.0"));
+		assertTrue(resource.contains("DISABLED_SOUND:\n  enabled: false"));
+		assertTrue(resource.contains("  groups: [\"villager\"]"));
+	}
+
+
+	@Test
+	void resource_values_are_quoted() throws IOException
+	{
+		List<String> errors = process("""
+				package test.sounds;
+				import com.winterhavenmc.library.soundconfig.processor.*;
+				@SoundEnum
+				public enum SoundId {
+					@SoundDefault(sound = "minecraft:entity.villager.no # no", category = "MASTER\\"",
+							groups = { "a, b", "c\\\\d" }) ENABLED_SOUND
+				}
+				""");
+		assertTrue(errors.isEmpty(), String.join("\n", errors));
+
+		String resource = Files.readString(outputDirectory.resolve("sounds.yml"));
+		assertTrue(resource.contains("  sound: \"minecraft:entity.villager.no # no\"\n"));
+		assertTrue(resource.contains("  category: \"MASTER\\\"\"\n"));
+		assertTrue(resource.contains("  groups: [\"a, b\", \"c\\\\d\"]\n"));
+	}
+
+
+	@Test
+	void missing_default_is_error()
+	{
+		List<String> errors = process("""
+				package test.sounds;
+				import com.winterhavenmc.library.soundconfig.processor.*;
+				@SoundEnum
+				public enum SoundId {
+					@SoundDefault(sound = "ENTITY_VILLAGER_NO") ENABLED_SOUND,
+					DISABLED_SOUND
+				}
+				""");
+		assertEquals(List.of("Every member of a @SoundEnum needs a @SoundDefault annotation."), errors);
+		assertFalse(Files.exists(outputDirectory.resolve("sounds.yml")));
+	}
+
+
+	@Test
+	void colliding_method_names_are_error()
+	{
+		List<String> errors = process("""
+				package test.sounds;
+				import com.winterhavenmc.library.soundconfig.processor.*;
+				@SoundEnum
+				public enum SoundId {
+					@SoundDefault(sound = "ENTITY_VILLAGER_NO") FOO_BAR,
+					@SoundDefault(sound = "ENTITY_VILLAGER_YES") FOO__BAR
+				}
+				""");
+		assertEquals(List.of("The sound FOO__BAR generates the accessor method playFooBar, which is already generated for FOO_BAR."),
+				errors);
+		assertFalse(Files.exists(outputDirectory.resolve("test/sounds/SoundIdSounds.java")));
+	}
+
+
+	/**
+	 * Compile a source file with the annotation processor, and the generated accessor with the library
+	 * and the bukkit api on the class path
+	 *
+	 * @return the error messages reported by the processor and the compiler
+	 */
+	private List<String> process(final String source)
+	{
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		JavaFileObject sourceFile = new SimpleJavaFileObject(URI.create("string:///test/sounds/SoundId.java"), JavaFileObject.Kind.SOURCE)
+		{
+			@Override
+			public CharSequence getCharContent(final boolean ignoreEncodingErrors)
+			{
+				return source;
+			}
+		};
+
+		String classPath = String.join(File.pathSeparator, classPathEntry(SoundEnum.class),
+				classPathEntry(SoundConfiguration.class), classPathEntry(Location.class));
+		List<String> options = List.of("-classpath", classPath,
+				"-d", outputDirectory.toString(), "-s", outputDirectory.toString());
+
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(sourceFile));
+		task.setProcessors(List.of(new SoundEnumProcessor()));
+		task.call();
+
+		return diagnostics.getDiagnostics().stream()
+				.filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+				.map(diagnostic -> diagnostic.getMessage(null))
+				.toList();
+	}
+
+
+	private static String classPathEntry(final Class<?> type)
+	{
+		try
+		{
+			return Path.of(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+		}
+		catch (URISyntaxException uriSyntaxException)
+		{
+			throw new IllegalStateException(uriSyntaxException);
+		}
+	}
+
+}